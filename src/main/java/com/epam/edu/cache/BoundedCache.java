@@ -0,0 +1,113 @@
+package com.epam.edu.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded LRU cache with optional expire-after-write and hit/miss
+ * statistics. Access order is kept by a {@link LinkedHashMap}, so every
+ * operation takes the map monitor; critical sections are O(1) except the
+ * predicate-based invalidation.
+ */
+public class BoundedCache<K, V> {
+
+	private final String name;
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public BoundedCache(String name, int maxEntries, Duration ttl) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+		}
+		this.name = name;
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttl == null || ttl.isZero() || ttl.isNegative() ? 0 : ttl.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > BoundedCache.this.maxEntries) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public V get(K key) {
+		synchronized (entries) {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && isExpired(entry)) {
+				entries.remove(key);
+				evictions.increment();
+				entry = null;
+			}
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value();
+		}
+	}
+
+	public void put(K key, V value) {
+		synchronized (entries) {
+			entries.put(key, new Entry<>(value, System.nanoTime()));
+		}
+	}
+
+	public void invalidate(K key) {
+		synchronized (entries) {
+			entries.remove(key);
+		}
+	}
+
+	public int invalidateIf(Predicate<? super K> predicate) {
+		int removed = 0;
+		synchronized (entries) {
+			Iterator<K> keys = entries.keySet().iterator();
+			while (keys.hasNext()) {
+				if (predicate.test(keys.next())) {
+					keys.remove();
+					removed++;
+				}
+			}
+		}
+		return removed;
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public CacheStats stats() {
+		return CacheStats.of(name, size(), maxEntries, hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	private boolean isExpired(Entry<V> entry) {
+		return ttlNanos > 0 && System.nanoTime() - entry.writtenAt() > ttlNanos;
+	}
+
+	private record Entry<V>(V value, long writtenAt) {
+	}
+}
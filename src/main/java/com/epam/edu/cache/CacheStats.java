@@ -0,0 +1,11 @@
+package com.epam.edu.cache;
+
+public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions,
+		double hitRate) {
+
+	public static CacheStats of(String name, int size, int maxSize, long hits, long misses, long evictions) {
+		long requests = hits + misses;
+		return new CacheStats(name, size, maxSize, hits, misses, evictions,
+				requests == 0 ? 0.0 : (double) hits / requests);
+	}
+}
@@ -0,0 +1,16 @@
+package com.epam.edu.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing pool is saturated and a hash could not be
+ * computed in time; the request should be answered with 503.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PasswordHashingRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
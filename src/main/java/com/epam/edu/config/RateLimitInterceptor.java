@@ -0,0 +1,75 @@
+package com.epam.edu.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects comment writes and registrations over the configured rate with 429
+ * before the handler (and any database access) runs. Comment writes are
+ * limited per signed-in user, registrations per client address.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final RateLimiter commentLimiter;
+	private final RateLimiter registrationLimiter;
+	private final AtomicLong rejected = new AtomicLong();
+
+	public RateLimitInterceptor(@Value("${security.rate-limit.comments.per-minute:6}") int commentsPerMinute,
+			@Value("${security.rate-limit.comments.burst:5}") int commentBurst,
+			@Value("${security.rate-limit.registration.per-hour:10}") int registrationsPerHour,
+			@Value("${security.rate-limit.registration.burst:3}") int registrationBurst,
+			@Value("${security.rate-limit.max-keys:100000}") int maxKeys) {
+		this.commentLimiter = new RateLimiter(commentsPerMinute, 1, TimeUnit.MINUTES, commentBurst, maxKeys);
+		this.registrationLimiter = new RateLimiter(registrationsPerHour, 1, TimeUnit.HOURS, registrationBurst,
+				maxKeys);
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (!"POST".equals(request.getMethod())) {
+			return true;
+		}
+
+		long waitNanos;
+		if (request.getRequestURI().endsWith("/user/registration")) {
+			waitNanos = registrationLimiter.tryAcquire(request.getRemoteAddr());
+		} else if (request.getUserPrincipal() != null) {
+			waitNanos = commentLimiter.tryAcquire(request.getUserPrincipal().getName());
+		} else {
+			return true;
+		}
+
+		if (waitNanos == 0) {
+			return true;
+		}
+		rejected.incrementAndGet();
+		response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos))));
+		response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+		return false;
+	}
+
+	@Scheduled(fixedDelayString = "${security.rate-limit.sweep-interval-ms:60000}")
+	public void evictIdle() {
+		commentLimiter.evictIdle();
+		registrationLimiter.evictIdle();
+	}
+
+	public Stats stats() {
+		return new Stats(commentLimiter.size(), registrationLimiter.size(), rejected.get(),
+				commentLimiter.untracked() + registrationLimiter.untracked());
+	}
+
+	public record Stats(int commentKeys, int registrationKeys, long rejected, long untracked) {
+	}
+}
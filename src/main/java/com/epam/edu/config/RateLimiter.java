@@ -0,0 +1,124 @@
+package com.epam.edu.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, implemented as GCRA: the whole bucket state is one
+ * "theoretical arrival time" per key, updated with a CAS loop, so acquiring
+ * never locks and keys on different map bins never contend. A key whose
+ * arrival time has passed has a full bucket and carries no information, so
+ * {@link #evictIdle()} can drop it. Eviction first retires the arrival time
+ * with a CAS, so an acquire racing with it either lands before (and the key
+ * stays) or sees the retired value and starts over with a new entry.
+ * <p>
+ * The number of keys is capped. When the map is full and nothing in it is
+ * idle, a new key is let through untracked rather than rejected, so a flood
+ * of distinct keys can't lock everybody else out; such requests are counted.
+ */
+public class RateLimiter {
+
+	private static final long NEW = Long.MIN_VALUE;
+	private static final long RETIRED = Long.MIN_VALUE + 1;
+	private static final long FULL_EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final long emissionIntervalNanos;
+	private final long burstToleranceNanos;
+	private final int maxKeys;
+
+	private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+	private final AtomicLong lastFullEviction = new AtomicLong(System.nanoTime() - FULL_EVICTION_INTERVAL_NANOS);
+	private final AtomicLong untracked = new AtomicLong();
+
+	/**
+	 * @param permitsPerPeriod sustained rate
+	 * @param burst            requests allowed at once from a full bucket
+	 */
+	public RateLimiter(int permitsPerPeriod, long period, TimeUnit unit, int burst, int maxKeys) {
+		this.emissionIntervalNanos = unit.toNanos(period) / permitsPerPeriod;
+		this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+		this.maxKeys = maxKeys;
+	}
+
+	/**
+	 * @return 0 if the request is allowed, otherwise the nanoseconds until it
+	 *         would be
+	 */
+	public long tryAcquire(String key) {
+		while (true) {
+			AtomicLong arrival = arrivals.get(key);
+			if (arrival == null) {
+				if (arrivals.size() >= maxKeys && !makeRoom()) {
+					untracked.incrementAndGet();
+					return 0;
+				}
+				arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(NEW));
+			}
+			long wait = tryAcquire(arrival);
+			if (wait >= 0) {
+				return wait;
+			}
+		}
+	}
+
+	/** Drops keys whose bucket has refilled completely. */
+	public int evictIdle() {
+		long now = System.nanoTime();
+		int evicted = 0;
+		for (Map.Entry<String, AtomicLong> entry : arrivals.entrySet()) {
+			AtomicLong arrival = entry.getValue();
+			long tat = arrival.get();
+			if ((tat == NEW || tat - now <= 0) && arrival.compareAndSet(tat, RETIRED)) {
+				arrivals.remove(entry.getKey(), arrival);
+				evicted++;
+			}
+		}
+		return evicted;
+	}
+
+	public int size() {
+		return arrivals.size();
+	}
+
+	/** Requests let through without a bucket because the key map was full. */
+	public long untracked() {
+		return untracked.get();
+	}
+
+	/**
+	 * @return 0 if allowed, the wait if not, or -1 if the entry was retired and
+	 *         the key has to be looked up again
+	 */
+	private long tryAcquire(AtomicLong arrival) {
+		while (true) {
+			long now = System.nanoTime();
+			long current = arrival.get();
+			if (current == RETIRED) {
+				return -1;
+			}
+			long tat = current == NEW || current - now < 0 ? now : current;
+			long wait = tat - burstToleranceNanos - now;
+			if (wait > 0) {
+				return wait;
+			}
+			if (arrival.compareAndSet(current, tat + emissionIntervalNanos)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Sweeps the full map at most once a second, so a flood of new keys
+	 * doesn't turn every request into a scan.
+	 */
+	private boolean makeRoom() {
+		long now = System.nanoTime();
+		long last = lastFullEviction.get();
+		if (now - last >= FULL_EVICTION_INTERVAL_NANOS && lastFullEviction.compareAndSet(last, now)) {
+			evictIdle();
+		}
+		return arrivals.size() < maxKeys;
+	}
+}
@@ -1,30 +1,94 @@
 package com.epam.edu.config;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+
+import com.epam.edu.entity.User;
+import com.epam.edu.service.UserService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
 public class SecurityConfig {
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+			@Value("${security.password.hashing-threads:2}") int threads,
+			@Value("${security.password.hashing-queue-capacity:64}") int queueCapacity,
+			@Value("${security.password.hashing-timeout-ms:5000}") long timeoutMillis) {
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMillis);
 	}
 
 	@Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain securityFilterChain(HttpSecurity http, UserService userService,
+			@Value("${security.stateless.enabled:false}") boolean stateless,
+			@Value("${security.stateless.secret:}") String secret,
+			@Value("${security.stateless.cookie-name:NP_AUTH}") String cookieName,
+			@Value("${security.stateless.token-ttl-ms:28800000}") long tokenTtlMillis) throws Exception {
 
 		http.authorizeHttpRequests(
 				auth -> auth.requestMatchers("/", "/page_registration", "/user/registration", "/page_auth",
-						"/page_privacy", "/css/**", "/js/**", "/images/**").permitAll().anyRequest().authenticated())
+						"/page_privacy", "/search", "/autocomplete", "/css/**", "/js/**", "/images/**").permitAll().requestMatchers("/admin/**")
+						.hasRole("ADMIN").anyRequest().authenticated())
 				.formLogin(form -> form.loginPage("/page_auth").loginProcessingUrl("/do_auth")
-						.defaultSuccessUrl("/", true).failureUrl("/page_auth?error").permitAll())
+						.defaultSuccessUrl("/", true).failureHandler(this::onLoginFailure).permitAll())
 				.logout(logout -> logout.permitAll());
 
+		if (stateless) {
+			Clock clock = Clock.systemUTC();
+			SignedTokenFilter tokenFilter = new SignedTokenFilter(new SignedTokenCodec(secret, clock), cookieName,
+					Duration.ofMillis(tokenTtlMillis), clock);
+			configureStateless(http, userService, tokenFilter);
+		}
+
 		return http.build();
 	}
+
+	/**
+	 * Keeps no state in the HTTP session: the security context comes from a
+	 * signed cookie issued at login, the CSRF token lives in a cookie and
+	 * there is no saved request to return to after login. Any node can then
+	 * serve any request without sticky sessions.
+	 */
+	private void configureStateless(HttpSecurity http, UserService userService, SignedTokenFilter tokenFilter)
+			throws Exception {
+		http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+				.securityContext(
+						context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+				.requestCache(cache -> cache.requestCache(new NullRequestCache()))
+				.csrf(csrf -> csrf.csrfTokenRepository(new CookieCsrfTokenRepository()))
+				.formLogin(form -> form.successHandler((request, response, authentication) -> {
+					User user = userService.findByEmail(authentication.getName());
+					tokenFilter.issue(request, response, user.getId(), user.getEmail(), user.getRole().getName());
+					response.sendRedirect(request.getContextPath() + "/");
+				}))
+				.logout(logout -> logout.deleteCookies(tokenFilter.getCookieName()))
+				.addFilterBefore(tokenFilter, UsernamePasswordAuthenticationFilter.class);
+	}
+
+	private void onLoginFailure(HttpServletRequest request, HttpServletResponse response,
+			AuthenticationException exception) throws IOException {
+		if (exception instanceof PasswordHashingRejectedException) {
+			response.setHeader("Retry-After", "1");
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
+		response.sendRedirect(request.getContextPath() + "/page_auth?error");
+	}
 }
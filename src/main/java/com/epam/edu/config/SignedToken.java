@@ -0,0 +1,13 @@
+package com.epam.edu.config;
+
+import java.time.Instant;
+
+/**
+ * Claims carried by the stateless authentication cookie.
+ */
+public record SignedToken(long userId, String email, String role, Instant expiresAt) {
+
+	public boolean isExpired(Instant now) {
+		return !now.isBefore(expiresAt);
+	}
+}
@@ -0,0 +1,85 @@
+package com.epam.edu.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encodes {@link SignedToken}s as {@code payload.signature}, both base64url,
+ * where the signature is an HMAC-SHA256 of the payload. Decoding checks the
+ * signature in constant time and rejects expired tokens, so validating a
+ * cookie needs neither the session nor the database.
+ */
+public class SignedTokenCodec {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final int MIN_SECRET_BYTES = 32;
+	private static final String VERSION = "1";
+	private static final char SEPARATOR = '|';
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecretKeySpec key;
+	private final Clock clock;
+
+	public SignedTokenCodec(String secret, Clock clock) {
+		byte[] bytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length < MIN_SECRET_BYTES) {
+			throw new IllegalStateException(
+					"security.stateless.secret must be at least " + MIN_SECRET_BYTES + " bytes long");
+		}
+		this.key = new SecretKeySpec(bytes, ALGORITHM);
+		this.clock = clock;
+	}
+
+	public String encode(SignedToken token) {
+		String payload = VERSION + SEPARATOR + token.userId() + SEPARATOR + token.role() + SEPARATOR
+				+ token.expiresAt().getEpochSecond() + SEPARATOR + token.email();
+		byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+		return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+	}
+
+	public Optional<SignedToken> decode(String value) {
+		if (value == null) {
+			return Optional.empty();
+		}
+		int dot = value.indexOf('.');
+		if (dot <= 0) {
+			return Optional.empty();
+		}
+		try {
+			byte[] payloadBytes = DECODER.decode(value.substring(0, dot));
+			byte[] signature = DECODER.decode(value.substring(dot + 1));
+			if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+				return Optional.empty();
+			}
+			String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 5);
+			if (parts.length != 5 || !VERSION.equals(parts[0])) {
+				return Optional.empty();
+			}
+			SignedToken token = new SignedToken(Long.parseLong(parts[1]), parts[4], parts[2],
+					Instant.ofEpochSecond(Long.parseLong(parts[3])));
+			return token.isExpired(clock.instant()) ? Optional.empty() : Optional.of(token);
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+
+	private byte[] sign(byte[] payload) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac.doFinal(payload);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HMAC is not available", e);
+		}
+	}
+}
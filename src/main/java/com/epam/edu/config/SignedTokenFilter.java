@@ -0,0 +1,104 @@
+package com.epam.edu.config;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests from the signed cookie issued at login, replacing
+ * the session-held security context in stateless mode. A token past half of
+ * its lifetime is re-issued, so active readers stay signed in; an invalid or
+ * expired one is cleared.
+ */
+public class SignedTokenFilter extends OncePerRequestFilter {
+
+	private final SignedTokenCodec codec;
+	private final String cookieName;
+	private final Duration ttl;
+	private final Clock clock;
+
+	public SignedTokenFilter(SignedTokenCodec codec, String cookieName, Duration ttl, Clock clock) {
+		this.codec = codec;
+		this.cookieName = cookieName;
+		this.ttl = ttl;
+		this.clock = clock;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		String value = readCookie(request);
+		if (value != null) {
+			Optional<SignedToken> token = codec.decode(value);
+			if (token.isPresent()) {
+				authenticate(token.get());
+				if (Duration.between(clock.instant(), token.get().expiresAt()).compareTo(ttl.dividedBy(2)) < 0) {
+					issue(request, response, token.get().userId(), token.get().email(), token.get().role());
+				}
+			} else {
+				clear(request, response);
+			}
+		}
+		chain.doFilter(request, response);
+	}
+
+	public void issue(HttpServletRequest request, HttpServletResponse response, long userId, String email,
+			String role) {
+		Instant expiresAt = clock.instant().plus(ttl);
+		String value = codec.encode(new SignedToken(userId, email, role, expiresAt));
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, value, ttl).toString());
+	}
+
+	public void clear(HttpServletRequest request, HttpServletResponse response) {
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO).toString());
+	}
+
+	public String getCookieName() {
+		return cookieName;
+	}
+
+	private void authenticate(SignedToken token) {
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+				token.email(), null, List.of(new SimpleGrantedAuthority("ROLE_" + token.role())));
+		SecurityContext context = SecurityContextHolder.createEmptyContext();
+		context.setAuthentication(authentication);
+		SecurityContextHolder.setContext(context);
+	}
+
+	private ResponseCookie cookie(HttpServletRequest request, String value, Duration maxAge) {
+		// same path as CookieClearingLogoutHandler uses, so logout removes it
+		return ResponseCookie.from(cookieName, value).path(request.getContextPath() + "/").maxAge(maxAge)
+				.httpOnly(true).secure(request.isSecure()).sameSite("Lax").build();
+	}
+
+	private String readCookie(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return null;
+		}
+		for (Cookie cookie : cookies) {
+			if (cookieName.equals(cookie.getName())) {
+				return cookie.getValue();
+			}
+		}
+		return null;
+	}
+}
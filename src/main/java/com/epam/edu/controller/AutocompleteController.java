@@ -0,0 +1,32 @@
+package com.epam.edu.controller;
+
+import java.util.List;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.epam.edu.entity.UserRole;
+import com.epam.edu.service.Suggestion;
+import com.epam.edu.service.SuggestionService;
+import com.epam.edu.service.UserSnapshot;
+
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+	private final SuggestionService suggestionService;
+	private final CurrentUserContext currentUser;
+
+	@GetMapping("/autocomplete")
+	@ResponseBody
+	public List<Suggestion> autocomplete(@RequestParam(defaultValue = "") String q,
+			@RequestParam(defaultValue = "8") int limit) {
+		UserSnapshot user = currentUser.get();
+		boolean publishedOnly = user == null || user.role() != UserRole.ADMIN;
+		return suggestionService.suggest(q, limit, publishedOnly);
+	}
+}
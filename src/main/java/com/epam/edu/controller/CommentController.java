@@ -5,45 +5,39 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.epam.edu.entity.Comment;
-import com.epam.edu.entity.News;
-import com.epam.edu.entity.User;
 import com.epam.edu.entity.UserRole;
 import com.epam.edu.service.CommentService;
-import com.epam.edu.service.NewsService;
-import com.epam.edu.service.UserService;
+import com.epam.edu.service.UserSnapshot;
 
 import lombok.RequiredArgsConstructor;
-
-import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/")
+@Slf4j
 public class CommentController {
 
-	private final NewsService newsService;
 	private final CommentService commentService;
-	private final UserService userService;
+	private final CurrentUserContext currentUser;
 
 
 	@PostMapping("/add_comment")
 	public String addComment(@RequestParam Long newsId, @RequestParam String commentText,
 			@RequestParam(required = false) Integer newsGroupId, @RequestParam(defaultValue = "0") int currentPage,
-			Authentication auth) {
-
-		User user = userService.findByEmail(auth.getName());
-		News news = newsService.getNewsById(newsId);
-
-		if (user != null && news != null) {
-			Comment comment = new Comment();
-			comment.setNews(news);
-			comment.setUser(user);
-			comment.setText(commentText);
-			comment.setActiv(true);
-			comment.setCreatedAt(LocalDateTime.now());
-			commentService.save(comment);
+			Authentication auth, RedirectAttributes redirectAttributes) {
+
+		UserSnapshot user = currentUser.get();
+		if (user != null) {
+			if (commentService.submit(newsId, user, commentText)) {
+				redirectAttributes.addFlashAttribute("pendingComment", commentText);
+			} else {
+				log.warn("Комментарий не принят: newsId={}, userId={}", newsId, user.id());
+				redirectAttributes.addFlashAttribute("commentError", "Не удалось отправить комментарий");
+			}
 		}
 
 		return String.format("redirect:/page_news?newsId=%d&newsGroupId=%s&page=%d", newsId,
@@ -55,10 +49,10 @@ public class CommentController {
 			@RequestParam Long newsId, @RequestParam(required = false) Integer newsGroupId,
 			@RequestParam(defaultValue = "0") int currentPage, Authentication auth) {
 
-		User user = userService.findByEmail(auth.getName());
+		UserSnapshot user = currentUser.get();
 		Comment comment = commentService.findById(commentId).orElse(null);
 
-		if (comment != null && user != null && (user.getRole() == UserRole.ADMIN || comment.isEditable(user))) {
+		if (comment != null && user != null && (user.role() == UserRole.ADMIN || comment.isEditable(user.id()))) {
 			comment.setText(commentText);
 			commentService.save(comment);
 		}
@@ -72,17 +66,13 @@ public class CommentController {
 			@RequestParam(required = false) Integer newsGroupId, @RequestParam(defaultValue = "0") int page,
 			Authentication auth) {
 
-		User user = userService.findByEmail(auth.getName());
-		if (user == null || user.getRole() != UserRole.ADMIN) {
+		UserSnapshot user = currentUser.get();
+		if (user == null || user.role() != UserRole.ADMIN) {
 			return String.format("redirect:/page_news?newsId=%d&newsGroupId=%s&page=%d&message=No access", newsId,
 					newsGroupId != null ? newsGroupId : "", page);
 		}
 
-		Comment comment = commentService.findById(commentId).orElse(null);
-		if (comment != null) {
-			comment.setActiv(!comment.isActiv());
-			commentService.save(comment);
-		}
+		commentService.toggleActive(commentId);
 
 		return String.format("redirect:/page_news?newsId=%d&newsGroupId=%s&page=%d", newsId,
 				newsGroupId != null ? newsGroupId : "", page);
@@ -93,8 +83,8 @@ public class CommentController {
 			@RequestParam(required = false) Integer newsGroupId, @RequestParam(defaultValue = "0") int page,
 			Authentication auth) {
 
-		User user = userService.findByEmail(auth.getName());
-		if (user == null || user.getRole() != UserRole.ADMIN) {
+		UserSnapshot user = currentUser.get();
+		if (user == null || user.role() != UserRole.ADMIN) {
 			return String.format("redirect:/page_news?newsId=%d&newsGroupId=%s&page=%d&message=No access", newsId,
 					newsGroupId != null ? newsGroupId : "", page);
 		}
@@ -0,0 +1,62 @@
+package com.epam.edu.controller;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.epam.edu.entity.News;
+import com.epam.edu.entity.UserRole;
+import com.epam.edu.service.NewsService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code GET /news_comments/stream?newsId=...}: hands the request to
+ * {@link CommentStreamHub}. Handled as a filter, outside Spring MVC, because
+ * a stream stays open for minutes: under MVC the open-in-view
+ * EntityManager, and the connection it acquires for the model advice, would
+ * be held for the whole stream. Registered after the security filter chain,
+ * so only signed-in users get here.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentStreamFilter extends OncePerRequestFilter {
+
+	private final CommentStreamHub hub;
+	private final NewsService newsService;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !"GET".equals(request.getMethod())
+				|| !(request.getContextPath() + "/news_comments/stream").equals(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		Long newsId;
+		try {
+			newsId = Long.valueOf(request.getParameter("newsId"));
+		} catch (NumberFormatException e) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+			return;
+		}
+
+		News news = newsService.getNewsById(newsId);
+		if (news == null || (!request.isUserInRole(UserRole.ADMIN.getName()) && !news.isVisible())) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		if (!hub.subscribe(newsId, request, response)) {
+			response.setHeader("Retry-After", "30");
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		}
+	}
+}
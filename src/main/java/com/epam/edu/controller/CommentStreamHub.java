@@ -0,0 +1,252 @@
+package com.epam.edu.controller;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.epam.edu.service.CommentUpdateEvent;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Fans committed comment changes out to Server-Sent Event subscribers of a
+ * news item. Each change is serialized once and offered to every
+ * subscriber's bounded buffer; a virtual thread per subscriber drains its
+ * buffer into the response. A subscriber whose buffer is full is too slow to
+ * keep up and is disconnected, so it can never hold back the others (the
+ * browser reconnects on its own).
+ * <p>
+ * Only a subscriber's writer thread writes to the response and completes it.
+ * Other threads just mark the subscriber closed; the writer notices within
+ * a second, so the response is never completed mid-write.
+ */
+@Component
+public class CommentStreamHub {
+
+	private static final Logger log = LoggerFactory.getLogger(CommentStreamHub.class);
+	private static final String HEARTBEAT = ": ping\n\n";
+	private static final long CLOSE_CHECK_MILLIS = 1000;
+
+	private final int bufferSize;
+	private final long timeoutMillis;
+	private final int maxSubscribers;
+
+	private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong evicted = new AtomicLong();
+
+	public CommentStreamHub(@Value("${news.comment-stream.buffer-size:64}") int bufferSize,
+			@Value("${news.comment-stream.timeout-ms:1800000}") long timeoutMillis,
+			@Value("${news.comment-stream.max-subscribers:10000}") int maxSubscribers) {
+		this.bufferSize = bufferSize;
+		this.timeoutMillis = timeoutMillis;
+		this.maxSubscribers = maxSubscribers;
+	}
+
+	/**
+	 * Puts the request into async mode and registers it as a subscriber.
+	 *
+	 * @return false if the hub is full; nothing has been written then
+	 */
+	public boolean subscribe(Long newsId, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			return false;
+		}
+
+		response.setContentType("text/event-stream");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader("Cache-Control", "no-cache");
+		response.setHeader("X-Accel-Buffering", "no");
+
+		AsyncContext async = request.startAsync();
+		async.setTimeout(timeoutMillis);
+		Subscriber subscriber = new Subscriber(newsId, async, response.getWriter(),
+				new ArrayBlockingQueue<>(bufferSize));
+		async.addListener(subscriber);
+		subscribers.computeIfAbsent(newsId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		subscriber.offer("retry: 5000\n\n");
+		Thread.ofVirtual().name("comment-stream-" + newsId).start(subscriber::drain);
+		return true;
+	}
+
+	@TransactionalEventListener
+	public void onCommentUpdate(CommentUpdateEvent event) {
+		Set<Subscriber> watchers = subscribers.get(event.newsId());
+		if (watchers == null || watchers.isEmpty()) {
+			return;
+		}
+		String frame = "event: " + event.type().name().toLowerCase() + "\ndata: " + toJson(event) + "\n\n";
+		for (Subscriber subscriber : watchers) {
+			if (!subscriber.offer(frame)) {
+				evicted.incrementAndGet();
+				subscriber.close();
+			}
+		}
+		published.incrementAndGet();
+	}
+
+	// keeps proxies from dropping idle streams and finds clients that went away
+	@Scheduled(fixedRateString = "${news.comment-stream.heartbeat-ms:25000}")
+	public void heartbeat() {
+		subscribers.values().forEach(watchers -> watchers.forEach(subscriber -> {
+			if (!subscriber.offer(HEARTBEAT)) {
+				evicted.incrementAndGet();
+				subscriber.close();
+			}
+		}));
+	}
+
+	@PreDestroy
+	public void closeAll() {
+		subscribers.values().forEach(watchers -> watchers.forEach(Subscriber::close));
+	}
+
+	public Stats stats() {
+		return new Stats(subscriberCount.get(), subscribers.size(), published.get(), evicted.get());
+	}
+
+	private void remove(Subscriber subscriber) {
+		subscribers.computeIfPresent(subscriber.newsId, (id, watchers) -> {
+			if (watchers.remove(subscriber)) {
+				subscriberCount.decrementAndGet();
+			}
+			return watchers.isEmpty() ? null : watchers;
+		});
+	}
+
+	private static String toJson(CommentUpdateEvent event) {
+		StringBuilder json = new StringBuilder("{\"id\":").append(event.commentId());
+		if (event.type() != CommentUpdateEvent.Type.REMOVED) {
+			json.append(",\"author\":");
+			appendString(json, event.authorName());
+			json.append(",\"text\":");
+			appendString(json, event.text());
+			json.append(",\"createdAt\":");
+			appendString(json, event.createdAt() != null ? event.createdAt().toString() : null);
+		}
+		return json.append('}').toString();
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		if (value == null) {
+			json.append("null");
+			return;
+		}
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"' -> json.append("\\\"");
+			case '\\' -> json.append("\\\\");
+			case '\n' -> json.append("\\n");
+			case '\r' -> json.append("\\r");
+			case '\t' -> json.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					json.append(String.format("\\u%04x", (int) c));
+				} else {
+					json.append(c);
+				}
+			}
+			}
+		}
+		json.append('"');
+	}
+
+	public record Stats(int subscribers, int streamedNews, long published, long evicted) {
+	}
+
+	private final class Subscriber implements AsyncListener {
+
+		private final Long newsId;
+		private final AsyncContext async;
+		private final PrintWriter out;
+		private final BlockingQueue<String> buffer;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		Subscriber(Long newsId, AsyncContext async, PrintWriter out, BlockingQueue<String> buffer) {
+			this.newsId = newsId;
+			this.async = async;
+			this.out = out;
+			this.buffer = buffer;
+		}
+
+		boolean offer(String frame) {
+			return !closed.get() && buffer.offer(frame);
+		}
+
+		void drain() {
+			try {
+				while (!closed.get()) {
+					String frame = buffer.poll(CLOSE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+					if (frame == null) {
+						continue;
+					}
+					out.write(frame);
+					out.flush();
+					if (out.checkError()) {
+						break;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				close();
+				try {
+					async.complete();
+				} catch (IllegalStateException e) {
+					log.debug("Comment stream already completed: newsId={}", newsId);
+				}
+			}
+		}
+
+		/** Stops the subscriber from any thread; the writer completes the response. */
+		void close() {
+			if (closed.compareAndSet(false, true)) {
+				remove(this);
+			}
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+}
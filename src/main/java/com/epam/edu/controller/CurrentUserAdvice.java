@@ -1,30 +1,29 @@
 package com.epam.edu.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
-import com.epam.edu.entity.User;
-import com.epam.edu.service.UserService;
+import com.epam.edu.service.UserSnapshot;
 
 @ControllerAdvice
 public class CurrentUserAdvice {
 
 	@Autowired
-	private UserService userService;
+	private CurrentUserContext currentUser;
 
 	@ModelAttribute
-	public void addCurrentUser(Model model, Authentication authentication) {
-		if (authentication != null && authentication.isAuthenticated()) {
-			model.addAttribute("currentUserEmail", authentication.getName());
-			User user = userService.findByEmail(authentication.getName());
+	public void addCurrentUser(Model model) {
+		String email = currentUser.getEmail();
+		if (email != null) {
+			model.addAttribute("currentUserEmail", email);
+			UserSnapshot user = currentUser.get();
 			if (user != null) {
 				model.addAttribute("currentUser", user);
-				model.addAttribute("currentUserName", user.getName());
+				model.addAttribute("currentUserName", user.name());
 			}
 		}
-		model.addAttribute("isAuthenticated", authentication != null && authentication.isAuthenticated());
+		model.addAttribute("isAuthenticated", email != null);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.epam.edu.controller;
+
+import java.io.Serializable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.epam.edu.entity.User;
+import com.epam.edu.service.UserService;
+import com.epam.edu.service.UserSnapshot;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * The signed-in user, loaded at most once per request and shared by the
+ * model advice and all controllers. With
+ * {@code news.current-user.session-cache=true} the loaded user is also kept in
+ * the HTTP session until {@link UserChangeTracker} reports a change.
+ * <p>
+ * {@link #get()} hands out an immutable {@link UserSnapshot}; handlers that
+ * change the user or need fields beyond it {@link #load()} the entity.
+ */
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+	private static final String SESSION_ATTRIBUTE = CurrentUserContext.class.getName() + ".user";
+	private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+	private final UserService userService;
+	private final UserChangeTracker changeTracker;
+	private final HttpServletRequest request;
+	private final boolean sessionCache;
+
+	private boolean resolved;
+	private UserSnapshot user;
+
+	public CurrentUserContext(UserService userService, UserChangeTracker changeTracker, HttpServletRequest request,
+			@Value("${news.current-user.session-cache:true}") boolean sessionCache) {
+		this.userService = userService;
+		this.changeTracker = changeTracker;
+		this.request = request;
+		this.sessionCache = sessionCache;
+	}
+
+	public String getEmail() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated() || TRUST_RESOLVER.isAnonymous(authentication)) {
+			return null;
+		}
+		return authentication.getName();
+	}
+
+	public UserSnapshot get() {
+		if (!resolved) {
+			user = resolve();
+			resolved = true;
+		}
+		return user;
+	}
+
+	/**
+	 * The signed-in user's entity, read from the database on every call.
+	 */
+	public User load() {
+		String email = getEmail();
+		if (email == null) {
+			return null;
+		}
+		try {
+			return userService.findByEmail(email);
+		} catch (UsernameNotFoundException e) {
+			return null;
+		}
+	}
+
+	private UserSnapshot resolve() {
+		String email = getEmail();
+		if (email == null) {
+			return null;
+		}
+
+		HttpSession session = sessionCache ? request.getSession(false) : null;
+		if (session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof CachedUser cached
+				&& cached.user().email().equals(email) && !changeTracker.isStale(email, cached.version())) {
+			return cached.user();
+		}
+
+		long version = changeTracker.currentVersion();
+		User entity = load();
+		if (entity == null) {
+			return null;
+		}
+		UserSnapshot loaded = UserSnapshot.of(entity);
+		if (session != null) {
+			session.setAttribute(SESSION_ATTRIBUTE, new CachedUser(loaded, version));
+		}
+		return loaded;
+	}
+
+	private record CachedUser(UserSnapshot user, long version) implements Serializable {
+	}
+}
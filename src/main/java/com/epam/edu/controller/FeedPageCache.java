@@ -0,0 +1,93 @@
+package com.epam.edu.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.epam.edu.cache.BoundedCache;
+import com.epam.edu.cache.CacheStats;
+import com.epam.edu.entity.UserRole;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsPublishedEvent;
+import com.epam.edu.service.NewsSnapshot;
+
+/**
+ * Rendered main-page HTML keyed by the feed request parameters and role.
+ * A write to a news item drops the pages filtered by its old or new group
+ * plus those not filtered by group; everything else stays cached. The facet
+ * counts of other groups on a page kept this way may lag by up to the TTL.
+ */
+@Component
+public class FeedPageCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(FeedPageCache.class);
+
+	private final BoundedCache<FeedPageKey, CachedPage> pages;
+	private long version;
+
+	public FeedPageCache(@Value("${news.feed-cache.max-entries:500}") int maxEntries,
+			@Value("${news.feed-cache.ttl-ms:300000}") long ttlMillis) {
+		this.pages = new BoundedCache<>("feedPages", maxEntries, Duration.ofMillis(ttlMillis));
+	}
+
+	public CachedPage get(FeedPageKey key) {
+		return pages.get(key);
+	}
+
+	/**
+	 * Version to pass to {@link #put}; a page rendered while an invalidation
+	 * happened is not stored, as it may already be stale.
+	 */
+	public synchronized long version() {
+		return version;
+	}
+
+	public synchronized void put(FeedPageKey key, CachedPage page, long renderedAtVersion) {
+		if (renderedAtVersion == version) {
+			pages.put(key, page);
+		}
+	}
+
+	public CacheStats stats() {
+		return pages.stats();
+	}
+
+	@TransactionalEventListener
+	public void onNewsChanged(NewsChangedEvent event) {
+		invalidateGroups(Stream.of(event.previous(), event.current()).filter(Objects::nonNull)
+				.map(NewsSnapshot::groupId).collect(Collectors.toSet()));
+	}
+
+	@EventListener
+	public void onNewsPublished(NewsPublishedEvent event) {
+		invalidateGroups(Set.of(event.groupId()));
+	}
+
+	private synchronized void invalidateGroups(Set<Integer> groupIds) {
+		version++;
+		int removed = pages.invalidateIf(
+				key -> key.groupIds().isEmpty() || key.groupIds().stream().anyMatch(groupIds::contains));
+		logger.debug("Сброшено страниц ленты из кэша: {}, группы: {}", removed, groupIds);
+	}
+
+	/**
+	 * {@code groupIds} and {@code authorIds} are sorted, so the same filter
+	 * maps to one key whatever the parameter order.
+	 */
+	public record FeedPageKey(int page, int size, List<Integer> groupIds, List<Long> authorIds, UserRole role,
+			String after) {
+	}
+
+	public record CachedPage(byte[] body, String contentType) {
+	}
+}
@@ -0,0 +1,101 @@
+package com.epam.edu.controller;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.epam.edu.controller.FeedPageCache.CachedPage;
+import com.epam.edu.controller.FeedPageCache.FeedPageKey;
+import com.epam.edu.entity.UserRole;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the main page to guests from {@link FeedPageCache}. Only anonymous
+ * requests are cached: pages of signed-in users carry their name and CSRF
+ * token. Registered after the security filter chain, so the principal is
+ * already resolved here.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedPageCacheFilter extends OncePerRequestFilter {
+
+	private final FeedPageCache cache;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !"GET".equals(request.getMethod())
+				|| !(request.getContextPath() + "/").equals(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		FeedPageKey key = request.getUserPrincipal() == null ? guestKey(request) : null;
+		if (key == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		CachedPage cached = cache.get(key);
+		if (cached != null) {
+			response.setHeader("X-Cache", "HIT");
+			response.setContentType(cached.contentType());
+			response.setContentLength(cached.body().length);
+			response.getOutputStream().write(cached.body());
+			return;
+		}
+
+		long version = cache.version();
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		wrapper.setHeader("X-Cache", "MISS");
+		try {
+			chain.doFilter(request, wrapper);
+			if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getHeaders("Set-Cookie").isEmpty()) {
+				cache.put(key, new CachedPage(wrapper.getContentAsByteArray(), wrapper.getContentType()), version);
+			}
+		} finally {
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	private FeedPageKey guestKey(HttpServletRequest request) {
+		try {
+			int page = intParameter(request, "page", 0);
+			int size = intParameter(request, "size", 6);
+			List<Integer> groupIds = sortedParameters(request, "newsGroupId", Integer::valueOf);
+			List<Long> authorIds = sortedParameters(request, "authorId", Long::valueOf);
+			String after = request.getParameter("after");
+			if (after != null && after.isEmpty()) {
+				after = null;
+			}
+			return new FeedPageKey(page, size, groupIds, authorIds, UserRole.GUEST, after);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private <T extends Comparable<T>> List<T> sortedParameters(HttpServletRequest request, String name,
+			Function<String, T> parser) {
+		String[] values = request.getParameterValues(name);
+		if (values == null) {
+			return List.of();
+		}
+		return Arrays.stream(values).filter(value -> !value.isEmpty()).map(parser).distinct().sorted().toList();
+	}
+
+	private int intParameter(HttpServletRequest request, String name, int defaultValue) {
+		String value = request.getParameter(name);
+		return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+	}
+}
@@ -0,0 +1,51 @@
+package com.epam.edu.controller;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import com.epam.edu.service.ModerationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/admin/banned_words")
+@Slf4j
+public class ModerationController {
+
+	private final ModerationService moderationService;
+
+	@GetMapping
+	public String bannedWords(Model model) {
+		model.addAttribute("bannedWords", moderationService.findBannedWords());
+		return "banned_words";
+	}
+
+	@PostMapping("/add")
+	public String addBannedWord(@RequestParam String word, RedirectAttributes redirectAttributes) {
+
+		if (moderationService.addBannedWord(word)) {
+			log.info("Добавлено запрещённое слово: word={}", word);
+			redirectAttributes.addFlashAttribute("successMessage", "Слово добавлено");
+		} else {
+			log.warn("Запрещённое слово не добавлено: word={}", word);
+			redirectAttributes.addFlashAttribute("errorMessage", "Слово пустое, слишком длинное или уже есть в списке");
+		}
+		return "redirect:/admin/banned_words";
+	}
+
+	@PostMapping("/delete")
+	public String deleteBannedWord(@RequestParam Long id, RedirectAttributes redirectAttributes) {
+
+		moderationService.removeBannedWord(id);
+		log.info("Удалено запрещённое слово: id={}", id);
+		redirectAttributes.addFlashAttribute("successMessage", "Слово удалено");
+		return "redirect:/admin/banned_words";
+	}
+}
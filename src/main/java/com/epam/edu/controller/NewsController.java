@@ -2,53 +2,48 @@ package com.epam.edu.controller;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.epam.edu.dao.ContentStream;
 import com.epam.edu.entity.News;
-import com.epam.edu.entity.NewsGroup;
 import com.epam.edu.entity.User;
+import com.epam.edu.entity.UserRole;
 import com.epam.edu.service.NewsService;
-import com.epam.edu.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Collections;
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/")
 public class NewsController {
 
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
 	private final NewsService newsService;
-	private final UserService userService;
+	private final CurrentUserContext currentUser;
 
 	@PostMapping("/save_news")
-	public String saveNews(@ModelAttribute("news") News news, @RequestParam Long newsGroupId,
-			@RequestParam(required = false) List<Long> authorIds, Authentication authentication) {
-
-		NewsGroup group = newsService.findNewsGroupById(newsGroupId);
-		news.setNewsGroup(group);
-
-		if (authorIds != null && !authorIds.isEmpty()) {
-			List<User> authors = authorIds.stream().map(userService::findById).collect(Collectors.toList());
+	public String saveNews(@ModelAttribute("news") News news, @RequestParam Integer newsGroupId,
+			@RequestParam(required = false) List<Long> authorIds) {
 
-			news.setAuthors(authors);
-		} else {
-			news.setAuthors(Collections.emptyList());
-		}
-		if (authentication != null && authentication.isAuthenticated()) {
-			User currentUser = userService.findByEmail(authentication.getName());
-			if (currentUser != null) {
-				news.setPublisher(currentUser);
-			}
+		User publisher = currentUser.load();
+		if (publisher != null) {
+			news.setPublisher(publisher);
 		}
 
-		newsService.saveNews(news);
+		newsService.saveNews(news, newsGroupId, authorIds);
 
 		return "redirect:/";
 	}
@@ -61,4 +56,83 @@ public class NewsController {
 		return "redirect:/?page=" + currentPage + (newsGroupId != null ? "&newsGroupId=" + newsGroupId : "");
 	}
 
+	@GetMapping("/news_content")
+	public void newsContent(@RequestParam Long newsId, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+
+		UserRole userRole = request.isUserInRole(UserRole.ADMIN.getName()) ? UserRole.ADMIN : UserRole.USER;
+		try (ContentStream content = newsService.openNewsContent(newsId, userRole)) {
+			if (content == null) {
+				response.sendError(HttpServletResponse.SC_NOT_FOUND);
+				return;
+			}
+
+			String etag = "\"" + content.version() + "\"";
+			response.setHeader("ETag", etag);
+			response.setHeader("Accept-Ranges", "bytes");
+			if (etag.equals(request.getHeader("If-None-Match"))) {
+				response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
+
+			long length = content.length();
+			long start = 0;
+			long end = length - 1;
+			String range = request.getHeader("Range");
+			// multi-range requests are answered with the whole body
+			if (range != null && range.startsWith("bytes=") && !range.contains(",")) {
+				long[] bounds = parseRange(range, length);
+				if (bounds == null) {
+					response.setHeader("Content-Range", "bytes */" + length);
+					response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+					return;
+				}
+				start = bounds[0];
+				end = bounds[1];
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+			}
+
+			long count = Math.max(0, end - start + 1);
+			response.setContentType("text/plain;charset=UTF-8");
+			response.setContentLengthLong(count);
+
+			if (content.rawFile() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+				// Tomcat copies the file region to the socket itself (sendfile)
+				request.setAttribute(SENDFILE_FILENAME, content.rawFile().toAbsolutePath().toString());
+				request.setAttribute(SENDFILE_START, content.rawOffset() + start);
+				request.setAttribute(SENDFILE_END, content.rawOffset() + start + count);
+				return;
+			}
+			content.transferTo(response.getOutputStream(), start, count);
+		}
+	}
+
+	/**
+	 * Single "bytes=" range as inclusive [start, end]; null when not
+	 * satisfiable.
+	 */
+	private long[] parseRange(String header, long length) {
+		String spec = header.substring("bytes=".length()).trim();
+		int dash = spec.indexOf('-');
+		try {
+			if (dash < 0) {
+				return null;
+			}
+			long start;
+			long end;
+			if (dash == 0) {
+				long suffix = Long.parseLong(spec.substring(1));
+				start = Math.max(0, length - suffix);
+				end = length - 1;
+			} else {
+				start = Long.parseLong(spec.substring(0, dash));
+				end = dash == spec.length() - 1 ? length - 1
+						: Math.min(length - 1, Long.parseLong(spec.substring(dash + 1)));
+			}
+			return start <= end && start < length ? new long[] { start, end } : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
 }
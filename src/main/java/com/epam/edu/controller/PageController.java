@@ -9,15 +9,22 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.epam.edu.dao.UserSort;
+import com.epam.edu.dao.UserSummary;
 import com.epam.edu.entity.Comment;
 import com.epam.edu.entity.News;
-import com.epam.edu.entity.NewsGroup;
+import com.epam.edu.entity.NewsStatus;
 import com.epam.edu.entity.User;
 import com.epam.edu.entity.UserRole;
 import com.epam.edu.service.CommentService;
+import com.epam.edu.service.CursorPage;
+import com.epam.edu.service.NewsFilter;
+import com.epam.edu.service.NewsGroupSnapshot;
 import com.epam.edu.service.NewsService;
 import com.epam.edu.service.PagedResult;
+import com.epam.edu.service.ReferenceDataService;
 import com.epam.edu.service.UserService;
+import com.epam.edu.service.UserSnapshot;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,28 +36,63 @@ import java.util.List;
 public class PageController {
 
 	private static final Logger logger = LoggerFactory.getLogger(PageController.class);
+	private static final int COMMENTS_PAGE_SIZE = 30;
+	// longer bodies are streamed by the page from /news_content instead of being rendered into it
+	private static final long INLINE_CONTENT_MAX_BYTES = 64 * 1024;
 
 	private final NewsService newsService;
 	private final CommentService commentService;
 	private final UserService userService;
+	private final ReferenceDataService referenceData;
+	private final CurrentUserContext currentUser;
 
 	@GetMapping("/")
 	public String pageMain(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "6") int size,
-			@RequestParam(required = false) Integer newsGroupId, Authentication authentication, Model model) {
-		logger.info("Главная страница. page={}, size={}, newsGroupId={}", page, size, newsGroupId);
+			@RequestParam(required = false) List<Integer> newsGroupId,
+			@RequestParam(required = false) List<Long> authorId, @RequestParam(required = false) String status,
+			@RequestParam(required = false) String after, Authentication authentication, Model model) {
+		logger.info("Главная страница. page={}, size={}, newsGroupId={}, authorId={}, status={}, after={}", page,
+				size, newsGroupId, authorId, status, after);
 		UserRole userRole = determineUserRole(authentication);
 		logger.debug("Определена роль пользователя: {}", userRole);
 
-		PagedResult<News> result = newsService.getNewsForPage(page, size, userRole, newsGroupId);
+		NewsFilter filter = NewsFilter.of(newsGroupId, authorId, NewsStatus.fromParam(status));
+		PagedResult<News> result = newsService.getNewsForPage(page, size, userRole, filter, after);
 		model.addAttribute("newsList", result.getContent());
 		model.addAttribute("currentPage", result.getCurrentPage());
 		model.addAttribute("pageSize", result.getPageSize());
 		model.addAttribute("totalPages", result.getTotalPages());
-		model.addAttribute("newsGroupId", newsGroupId);
+		model.addAttribute("nextCursor", result.getNextCursor());
+		// a single group is carried on to the news page for its way back
+		model.addAttribute("newsGroupId", filter.groupIds().size() == 1 ? filter.groupIds().iterator().next() : null);
+		model.addAttribute("selectedGroupIds", sorted(filter.groupIds()));
+		model.addAttribute("selectedAuthorIds", sorted(filter.authorIds()));
+		model.addAttribute("status", userRole == UserRole.ADMIN ? filter.status().getParam() : null);
+		model.addAttribute("statuses", NewsStatus.values());
+		model.addAttribute("facets", newsService.countFacets(userRole, filter));
+		model.addAttribute("newsGroups", referenceData.getNewsGroups());
+		model.addAttribute("authors", referenceData.getAuthors());
 
 		return "main";
 	}
 
+	@GetMapping("/search")
+	public String pageSearch(@RequestParam(defaultValue = "") String q, @RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "9") int size, Authentication authentication, Model model) {
+		logger.info("Поиск новостей. q={}, page={}, size={}", q, page, size);
+		UserRole userRole = determineUserRole(authentication);
+
+		PagedResult<News> result = newsService.searchNews(q, page, size, userRole);
+		model.addAttribute("q", q);
+		model.addAttribute("newsList", result.getContent());
+		model.addAttribute("currentPage", result.getCurrentPage());
+		model.addAttribute("pageSize", result.getPageSize());
+		model.addAttribute("totalPages", result.getTotalPages());
+		model.addAttribute("totalElements", result.getTotalElements());
+
+		return "search";
+	}
+
 	@GetMapping("/page_news")
 	public String pageNews(@RequestParam(required = false) Long newsId,
 			@RequestParam(required = false) Integer newsGroupId, @RequestParam(defaultValue = "0") int page,
@@ -65,16 +107,7 @@ public class PageController {
 
 		try {
 			if (newsId != null) {
-				news = newsService.getNewsById(newsId);
-				if (news != null && userRole != UserRole.ADMIN) {
-					boolean isActive = news.isActiv();
-					boolean isPublished = news.getPublishingDateTime() == null
-							|| news.getPublishingDateTime().isBefore(java.time.LocalDateTime.now());
-					if (!isActive || !isPublished) {
-						logger.debug("Новость не активна или еще не опубликована: newsId={}", newsId);
-						news = null;
-					}
-				}
+				news = newsService.getNewsForReading(newsId, userRole, INLINE_CONTENT_MAX_BYTES);
 			}
 
 			if (news == null) {
@@ -85,16 +118,11 @@ public class PageController {
 				news.setContent("Sorry, this news has not been created yet.");
 			}
 
-			List<Comment> allComments = commentService.findAllByNewsId(newsId);
-			User currentUser = (User) model.getAttribute("currentUser");
-			boolean isAdmin = currentUser != null && currentUser.getRole() == UserRole.ADMIN;
-
-			List<Comment> comments = allComments.stream().filter(c -> c.isActiv() || isAdmin)
-					.peek(c -> c.setEditable(c.isEditable(currentUser))).toList();
-
 			model.addAttribute("news", news);
 			model.addAttribute("userRole", userRole);
-			model.addAttribute("comments", comments);
+			if (news.getId() != null) {
+				addCommentsThrough(model, newsId, editingCommentId);
+			}
 			model.addAttribute("editingCommentId", editingCommentId);
 			model.addAttribute("newsGroupId", newsGroupId);
 			model.addAttribute("currentPage", page);
@@ -105,20 +133,38 @@ public class PageController {
 		return "news";
 	}
 
+	@GetMapping("/news_comments")
+	public String newsComments(@RequestParam Long newsId, @RequestParam(required = false) Long after,
+			@RequestParam(required = false) Integer newsGroupId, @RequestParam(defaultValue = "0") int currentPage,
+			Authentication authentication, Model model) {
+
+		logger.debug("Загрузка комментариев. newsId={}, after={}", newsId, after);
+		News news = newsService.getNewsById(newsId);
+		if (news == null || (determineUserRole(authentication) != UserRole.ADMIN && !news.isVisible())) {
+			return "news :: comments";
+		}
+
+		model.addAttribute("news", news);
+		model.addAttribute("newsGroupId", newsGroupId);
+		model.addAttribute("currentPage", currentPage);
+		addComments(model, newsId, after);
+		return "news :: comments";
+	}
+
 	@GetMapping("/page_edit_news")
 	public String pageEditNews(@RequestParam Long newsId, @RequestParam(required = false) Integer newsGroupId,
 			@RequestParam(defaultValue = "0") int currentPage, Authentication auth, Model model) {
 		logger.info("Редактирование новости. newsId={}, newsGroupId={}, currentPage={}", newsId, newsGroupId,
 				currentPage);
 
-		News news = newsService.getNewsById(newsId);
+		News news = newsService.getNewsWithContent(newsId);
 		if (news == null) {
 			logger.warn("Новость не найдена: newsId={}", newsId);
 			return "error";
 		}
 
-		List<User> authors = userService.findAllAuthors();
-		List<NewsGroup> newsGroups = newsService.findAllNewsGroups();
+		List<UserSummary> authors = referenceData.getAuthors();
+		List<NewsGroupSnapshot> newsGroups = referenceData.getNewsGroups();
 
 		model.addAttribute("news", news);
 		model.addAttribute("authors", authors);
@@ -132,8 +178,8 @@ public class PageController {
 	@GetMapping("/page_create_news")
 	public String pageCreateNews(Model model) {
 		logger.info("Страница создания новости");
-		List<User> authors = userService.findAllAuthors();
-		List<NewsGroup> newsGroups = newsService.findAllNewsGroups();
+		List<UserSummary> authors = referenceData.getAuthors();
+		List<NewsGroupSnapshot> newsGroups = referenceData.getNewsGroups();
 
 		model.addAttribute("news", new News());
 		model.addAttribute("authors", authors);
@@ -170,7 +216,7 @@ public class PageController {
 	public String pageProfile(Authentication auth, Model model) {
 		String email = auth.getName();
 		logger.info("Страница профиля пользователя: {}", email);
-		User user = userService.findByEmail(email);
+		User user = currentUser.load();
 		if (user == null) {
 			logger.warn("Пользователь не найден: {}", email);
 		}
@@ -180,20 +226,52 @@ public class PageController {
 	}
 
 	@GetMapping("/admin_panel")
-	public String pageAdminUsers(Model model, Authentication auth) {
+	public String pageAdminUsers(@RequestParam(required = false) String q,
+			@RequestParam(defaultValue = "id") String sort, @RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "50") int size, Model model, Authentication auth) {
 		String email = auth.getName();
-		User currentUser = userService.findByEmail(email);
-		if (currentUser == null || currentUser.getRole() != UserRole.ADMIN) {
+		UserSnapshot admin = currentUser.get();
+		if (admin == null || admin.role() != UserRole.ADMIN) {
 			logger.warn("Несанкционированный доступ к админ-панели: {}", email);
 			return "redirect:/";
 		}
 		logger.info("Админ-панель. Пользователь: {}", email);
 
-		model.addAttribute("users", userService.findAll());
-		model.addAttribute("user", currentUser);
+		UserSort userSort = UserSort.fromParam(sort);
+		CursorPage<UserSummary> users = userService.findUsersForAdmin(q, userSort, after, size);
+		model.addAttribute("users", users.getContent());
+		model.addAttribute("nextCursor", users.getNextCursor());
+		model.addAttribute("q", q);
+		model.addAttribute("sort", userSort.getParam());
+		model.addAttribute("size", size);
+		model.addAttribute("user", admin);
 		return "admin_panel";
 	}
 
+	private void addComments(Model model, Long newsId, Long after) {
+		UserSnapshot user = currentUser.get();
+		boolean isAdmin = user != null && user.role() == UserRole.ADMIN;
+		addComments(model, commentService.findPageByNewsId(newsId, isAdmin, after, COMMENTS_PAGE_SIZE), user);
+	}
+
+	/**
+	 * First page of comments, loaded on up to the one being edited, which may
+	 * be past the first page.
+	 */
+	private void addCommentsThrough(Model model, Long newsId, Long editingCommentId) {
+		UserSnapshot user = currentUser.get();
+		boolean isAdmin = user != null && user.role() == UserRole.ADMIN;
+		addComments(model,
+				commentService.findPagesThrough(newsId, isAdmin, editingCommentId, COMMENTS_PAGE_SIZE), user);
+	}
+
+	private void addComments(Model model, CursorPage<Comment> comments, UserSnapshot user) {
+		comments.getContent().forEach(c -> c.setEditable(user != null && c.isEditable(user.id())));
+
+		model.addAttribute("comments", comments.getContent());
+		model.addAttribute("nextCommentCursor", comments.getNextCursor());
+	}
+
 	private UserRole determineUserRole(Authentication authentication) {
 		if (authentication == null || !authentication.isAuthenticated()) {
 			return UserRole.GUEST;
@@ -209,4 +287,8 @@ public class PageController {
 		}
 		return UserRole.GUEST;
 	}
+
+	private static <T extends Comparable<T>> List<T> sorted(Collection<T> values) {
+		return values.stream().sorted().toList();
+	}
 }
@@ -0,0 +1,57 @@
+package com.epam.edu.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.epam.edu.config.RateLimitInterceptor;
+import com.epam.edu.service.impl.BannedWordFilter;
+import com.epam.edu.service.impl.CommentIngestor;
+import com.epam.edu.service.impl.ContentGarbageCollector;
+import com.epam.edu.service.impl.EmailFilter;
+import com.epam.edu.service.impl.NewsFacetIndex;
+import com.epam.edu.service.impl.NewsSearchIndex;
+import com.epam.edu.service.impl.SuggestionServiceImpl;
+import com.epam.edu.service.impl.UserDetailsCache;
+
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class StatsController {
+
+	private final FeedPageCache feedPageCache;
+	private final ContentGarbageCollector contentGarbageCollector;
+	private final UserDetailsCache userDetailsCache;
+	private final EmailFilter emailFilter;
+	private final CommentIngestor commentIngestor;
+	private final CommentStreamHub commentStreamHub;
+	private final RateLimitInterceptor rateLimitInterceptor;
+	private final BannedWordFilter bannedWordFilter;
+	private final NewsSearchIndex newsSearchIndex;
+	private final SuggestionServiceImpl suggestionService;
+	private final NewsFacetIndex newsFacetIndex;
+
+	@GetMapping("/stats")
+	@ResponseBody
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("feedPageCache", feedPageCache.stats());
+		stats.put("contentGc", contentGarbageCollector.getLastReport());
+		stats.put("userDetailsCache", userDetailsCache.stats());
+		stats.put("emailFilter", emailFilter.stats());
+		stats.put("commentIngest", commentIngestor.stats());
+		stats.put("commentStream", commentStreamHub.stats());
+		stats.put("rateLimit", rateLimitInterceptor.stats());
+		stats.put("bannedWords", bannedWordFilter.stats());
+		stats.put("searchIndex", newsSearchIndex.stats());
+		stats.put("autocomplete", suggestionService.stats());
+		stats.put("facetIndex", newsFacetIndex.stats());
+		return stats;
+	}
+}
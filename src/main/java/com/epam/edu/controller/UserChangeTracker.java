@@ -0,0 +1,63 @@
+package com.epam.edu.controller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.epam.edu.service.UserChangedEvent;
+
+/**
+ * Remembers when each user was last changed, as a position in a global
+ * sequence, so a copy loaded at an earlier position can be recognized as
+ * stale without a database round trip.
+ * <p>
+ * Only the latest changes are remembered. Once there are more than the
+ * configured number, the older half is forgotten and every copy loaded
+ * before the newest forgotten change counts as stale, so such a copy is
+ * loaded again once rather than trusted.
+ */
+@Component
+public class UserChangeTracker {
+
+	private final int maxEntries;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong forgottenUpTo = new AtomicLong();
+	private final Map<String, Long> lastChanges = new ConcurrentHashMap<>();
+
+	public UserChangeTracker(@Value("${news.current-user.tracked-changes:10000}") int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public long currentVersion() {
+		return sequence.get();
+	}
+
+	public boolean isStale(String email, long loadedAtVersion) {
+		if (loadedAtVersion < forgottenUpTo.get()) {
+			return true;
+		}
+		Long lastChange = lastChanges.get(email);
+		return lastChange != null && lastChange > loadedAtVersion;
+	}
+
+	@TransactionalEventListener
+	public void onUserChanged(UserChangedEvent event) {
+		if (event.email() != null) {
+			long version = sequence.incrementAndGet();
+			lastChanges.put(event.email(), version);
+			if (lastChanges.size() > maxEntries) {
+				forget(version - maxEntries / 2);
+			}
+		}
+	}
+
+	private void forget(long upTo) {
+		// raised before removing, so a removed change is never reported as fresh
+		forgottenUpTo.accumulateAndGet(upTo, Math::max);
+		lastChanges.values().removeIf(version -> version <= upTo);
+	}
+}
@@ -11,10 +11,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.epam.edu.config.PasswordHashingRejectedException;
 import com.epam.edu.entity.RegistrationInfo;
 import com.epam.edu.entity.User;
 import com.epam.edu.service.ServiceException;
 import com.epam.edu.service.UserService;
+import com.epam.edu.service.UserSnapshot;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class UserController {
 
 	private final UserService userService;
+	private final CurrentUserContext currentUser;
 
 	@PostMapping("/registration")
 	public String doRegistration(@RequestParam String name, @RequestParam String email, @RequestParam String password,
@@ -46,7 +49,15 @@ public class UserController {
 		}
 
 		RegistrationInfo info = new RegistrationInfo(email, password, name);
-		if (!userService.addNew(info)) {
+		boolean added;
+		try {
+			added = userService.addNew(info);
+		} catch (PasswordHashingRejectedException e) {
+			log.warn("Регистрация отклонена, сервер перегружен: email={}", email);
+			redirectAttributes.addAttribute("errorMessage", "Сервер перегружен. Попробуйте ещё раз через минуту.");
+			return "redirect:/page_registration";
+		}
+		if (!added) {
 			log.error("Ошибка при создании пользователя: email={}", email);
 			redirectAttributes.addAttribute("errorMessage", "Что-то пошло не так. Начните сначала.");
 			return "redirect:/page_registration";
@@ -64,7 +75,7 @@ public class UserController {
 		String email = auth.getName();
 		log.info("Обновление профиля пользователя: email={}", email);
 
-		User user = userService.findByEmail(email);
+		User user = currentUser.load();
 
 		if (user != null) {
 			user.setName(name);
@@ -91,11 +102,11 @@ public class UserController {
 		if (author == null)
 			author = false;
 
-		User currentAdmin = userService.findByEmail(auth.getName());
+		UserSnapshot currentAdmin = currentUser.get();
 		User user = userService.findById(id);
 
 		log.info("Админ пытается обновить пользователя: adminId={}, targetUserId={}, activ={}, author={}",
-				currentAdmin != null ? currentAdmin.getId() : null, id, activ, author);
+				currentAdmin != null ? currentAdmin.id() : null, id, activ, author);
 
 		if (user == null) {
 			log.warn("Пользователь не найден: id={}", id);
@@ -103,7 +114,7 @@ public class UserController {
 			return "redirect:/page_admin_panel";
 		}
 
-		if (currentAdmin != null && user.getId().equals(currentAdmin.getId()) && !activ) {
+		if (currentAdmin != null && user.getId().equals(currentAdmin.id()) && !activ) {
 			log.warn("Попытка самоблокировки админом: id={}", id);
 			redirectAttributes.addFlashAttribute("errorMessage", "Нельзя деактивировать собственный аккаунт");
 			return "redirect:/page_admin_panel";
@@ -122,7 +133,7 @@ public class UserController {
 	@PostMapping("/delete")
 	public String deleteUser(@RequestParam Long userId, Authentication auth, RedirectAttributes redirectAttributes) {
 
-		User currentAdmin = userService.findByEmail(auth.getName());
+		User currentAdmin = currentUser.load();
 
 		log.info("Запрос на удаление пользователя: adminId={}, targetUserId={}",
 				currentAdmin != null ? currentAdmin.getId() : null, userId);
@@ -0,0 +1,16 @@
+package com.epam.edu.dao;
+
+import java.util.List;
+
+import com.epam.edu.entity.BannedWord;
+
+public interface BannedWordRepository extends BaseRepository<BannedWord, Long> {
+
+	/** All banned words, alphabetically. */
+	List<BannedWord> findAllOrdered();
+
+	List<String> findAllWords();
+
+	boolean existsByWord(String word);
+
+}
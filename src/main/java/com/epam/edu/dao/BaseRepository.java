@@ -8,6 +8,9 @@ public interface BaseRepository <T, ID>{
 	T save(T entity);
 	
 	Optional<T> findById(ID id);
+
+	/** Returns an uninitialized proxy; use only for ids known to exist. */
+	T getReference(ID id);
 	
 	List<T> findAll();
 	
@@ -0,0 +1,10 @@
+package com.epam.edu.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * What identifies a stored comment to the ingestion replay: its news, its
+ * author and when it was written.
+ */
+public record CommentKey(Long newsId, Long userId, LocalDateTime createdAt) {
+}
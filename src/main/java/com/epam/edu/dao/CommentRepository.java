@@ -1,13 +1,34 @@
 package com.epam.edu.dao;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import com.epam.edu.entity.Comment;
+import com.epam.edu.entity.PendingComment;
 
 public interface CommentRepository extends BaseRepository<Comment, Long> {
 
 	void deleteAllByNewsId(Long newsId);
 	
-	List<Comment> findAllByNewsId(Long id);
+	/**
+	 * Inserts comments in one JDBC batch, bypassing the persistence context.
+	 *
+	 * @return the generated ids, in the order of {@code comments}
+	 */
+	List<Long> insertAll(List<PendingComment> comments);
+
+	/**
+	 * Keys of the comments by any of {@code userIds} on any of
+	 * {@code newsIds} created within {@code [from, to]}.
+	 */
+	List<CommentKey> findCommentKeys(Collection<Long> newsIds, Collection<Long> userIds, LocalDateTime from,
+			LocalDateTime to);
+
+	/**
+	 * Comments of a news item with id greater than {@code afterId}, oldest
+	 * first, with their authors fetched in the same query.
+	 */
+	List<Comment> findPageByNewsId(Long newsId, boolean activeOnly, Long afterId, int limit);
 
 }
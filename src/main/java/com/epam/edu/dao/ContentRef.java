@@ -0,0 +1,7 @@
+package com.epam.edu.dao;
+
+/**
+ * The stored body a news item points to, as saved in {@code news.content_path}.
+ */
+public record ContentRef(Long newsId, String contentPath) {
+}
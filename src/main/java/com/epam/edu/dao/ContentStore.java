@@ -0,0 +1,36 @@
+package com.epam.edu.dao;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Storage for news bodies. Locations returned by {@link #save(String)} are
+ * what {@code News.contentPath} holds.
+ */
+public interface ContentStore {
+
+	String save(String content);
+
+	String read(String location);
+
+	ContentStream open(String location);
+
+	/**
+	 * Every stored item, including leftovers of interrupted writes; the stream
+	 * must be closed. Items removed while the listing runs are skipped.
+	 */
+	Stream<StoredContent> list();
+
+	/**
+	 * Identity of the item at {@code location} inside the store, independent of
+	 * how the store root and path separators were spelled when the location was
+	 * saved; compare this, not raw locations, with {@link StoredContent#key()}.
+	 */
+	String keyOf(String location);
+
+	/**
+	 * Deletes the item unless it was written or reused after {@code cutoff}.
+	 */
+	boolean deleteIfUnmodifiedSince(String location, Instant cutoff);
+
+}
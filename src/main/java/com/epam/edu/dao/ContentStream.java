@@ -0,0 +1,32 @@
+package com.epam.edu.dao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Open handle to a stored news body that can be copied to an output stream
+ * without materializing it. Offsets and lengths are in bytes of the UTF-8
+ * text.
+ */
+public interface ContentStream extends Closeable {
+
+	long length();
+
+	/**
+	 * Opaque value that changes whenever the body changes, usable as an ETag.
+	 */
+	String version();
+
+	/**
+	 * File holding the body uncompressed starting at {@link #rawOffset()}, or
+	 * null when it has to be decoded on the fly.
+	 */
+	Path rawFile();
+
+	long rawOffset();
+
+	void transferTo(OutputStream out, long offset, long count) throws IOException;
+
+}
@@ -0,0 +1,11 @@
+package com.epam.edu.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * The news fields faceted filtering and feed order work on; authors are
+ * loaded separately with {@link NewsRepository#findAuthorIdsByNewsIds}.
+ */
+public record NewsFacetRow(Long id, Integer groupId, boolean activ, boolean visible,
+		LocalDateTime publishingDateTime, LocalDateTime updateDateTime) {
+}
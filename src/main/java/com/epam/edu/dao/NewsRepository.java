@@ -2,17 +2,72 @@ package com.epam.edu.dao;
 
 import com.epam.edu.entity.News;
 import com.epam.edu.entity.NewsGroup;
+import com.epam.edu.entity.NewsStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface NewsRepository extends BaseRepository<News, Long> {
 
-	List<News> findFilteredNews(Integer groupId, Long authorId, boolean activ, int page, int size);
+	/**
+	 * Feed page of the news in any of {@code groupIds} and by any of
+	 * {@code authorIds} with the given status; an empty collection doesn't
+	 * narrow.
+	 */
+	List<Long> findFilteredNewsIds(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status,
+			int page, int size);
 
-	long countFilteredNews(Integer groupId, Long authorId, boolean publishedOnly);
+	List<Long> findFilteredNewsIdsAfter(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status,
+			LocalDateTime afterPublishingDateTime, Long afterId, int size);
+
+	List<News> findAllWithDetailsByIds(List<Long> ids);
+
+	long countFilteredNews(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status);
+
+	List<News> findScheduledNews();
+
+	int markDueNewsVisible(LocalDateTime now);
+
+	boolean markVisibleIfDue(Long id, LocalDateTime now);
+
+	/** Content paths of news with id greater than {@code afterId}, by id; news without a body are skipped. */
+	List<ContentRef> findContentRefsAfter(Long afterId, int limit);
+
+	void addToCommentCount(Long newsId, long delta);
+
+	/** Recomputes {@code comment_count} of every news from its active comments. */
+	int recountComments();
+
+	/** Recomputes {@code comment_count} of the given news from their active comments. */
+	int recountComments(Collection<Long> newsIds);
 
 	List<NewsGroup> findAllNewsGroups();
 
 	NewsGroup findNewsGroupById(Long newsGroupId);
 
+	/** Id-only existence check that doesn't load the entity. */
+	boolean existsById(Long id);
+
+	NewsGroup getNewsGroupReference(int newsGroupId);
+
+	/** Searchable fields of news with id greater than {@code afterId}, by id. */
+	List<NewsText> findNewsTextsAfter(Long afterId, int limit);
+
+	/** Searchable fields of news updated at or after {@code since} with id greater than {@code afterId}, by id. */
+	List<NewsText> findNewsTextsUpdatedSince(LocalDateTime since, Long afterId, int limit);
+
+	/** Titles of news with id greater than {@code afterId}, by id. */
+	List<NewsTitle> findNewsTitlesAfter(Long afterId, int limit);
+
+	/** Facet fields of news with id greater than {@code afterId}, by id. */
+	List<NewsFacetRow> findNewsFacetRowsAfter(Long afterId, int limit);
+
+	/** Facet fields of news updated at or after {@code since} with id greater than {@code afterId}, by id. */
+	List<NewsFacetRow> findNewsFacetRowsUpdatedSince(LocalDateTime since, Long afterId, int limit);
+
+	/** Author ids of the given news, keyed by news id; news without authors are absent. */
+	Map<Long, List<Long>> findAuthorIdsByNewsIds(Collection<Long> newsIds);
+
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.epam.edu.dao;
+
+/**
+ * The searchable fields of a news item; the body is referenced by its
+ * content store location.
+ */
+public record NewsText(Long id, String title, String brief, String contentPath, boolean visible) {
+}
@@ -0,0 +1,10 @@
+package com.epam.edu.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * A news title with what typeahead ranks and filters it by;
+ * {@code publishedAt} falls back to the creation time for undated news.
+ */
+public record NewsTitle(Long id, String title, LocalDateTime publishedAt, boolean visible) {
+}
@@ -0,0 +1,10 @@
+package com.epam.edu.dao;
+
+import java.time.Instant;
+
+/**
+ * An item found in a {@link ContentStore}; {@code key} is what
+ * {@link ContentStore#keyOf} returns for any spelling of its location.
+ */
+public record StoredContent(String location, String key, long size, Instant lastModified) {
+}
@@ -1,7 +1,10 @@
 package com.epam.edu.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
 import com.epam.edu.entity.User;
 
 public interface UserRepository extends BaseRepository<User, Long> {
@@ -10,8 +13,28 @@ public interface UserRepository extends BaseRepository<User, Long> {
 
 	boolean existsByEmail(String email);
 
+	long countUsers();
+
+	/**
+	 * Streams every registered email; the stream must be closed and consumed
+	 * inside a transaction.
+	 */
+	Stream<String> streamAllEmails();
+
 	List<User> findAllAuthors();
 
+	List<UserSummary> findAuthorSummaries();
+
+	/** Those of {@code ids} that belong to authors. */
+	List<Long> findAuthorIds(Collection<Long> ids);
+
 	Optional<User> findById(Long id);
 
+	/**
+	 * Keyset page of the user list: rows after ({@code afterEmail},
+	 * {@code afterId}) in the given order, optionally restricted to users whose
+	 * email or name starts with {@code prefix}.
+	 */
+	List<UserSummary> findUserSummaries(String prefix, UserSort sort, String afterEmail, Long afterId, int limit);
+
 }
@@ -0,0 +1,23 @@
+package com.epam.edu.dao;
+
+public enum UserSort {
+	ID("id"), EMAIL("email");
+
+	private final String param;
+
+	UserSort(String param) {
+		this.param = param;
+	}
+
+	public String getParam() {
+		return param;
+	}
+
+	public static UserSort fromParam(String param) {
+		for (UserSort sort : values()) {
+			if (sort.param.equalsIgnoreCase(param))
+				return sort;
+		}
+		return ID;
+	}
+}
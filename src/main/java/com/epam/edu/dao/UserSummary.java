@@ -0,0 +1,79 @@
+package com.epam.edu.dao;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Read-only row of the admin user list, selected with a constructor
+ * projection so that listing users doesn't put entities into the persistence
+ * context.
+ */
+public class UserSummary {
+	private final Long id;
+	private final String email;
+	private final String name;
+	private final String surname;
+	private final LocalDate registrationDate;
+	private final Boolean activ;
+	private final Boolean author;
+
+	public UserSummary(Long id, String email, String name, String surname, LocalDate registrationDate, Boolean activ,
+			Boolean author) {
+		this.id = id;
+		this.email = email;
+		this.name = name;
+		this.surname = surname;
+		this.registrationDate = registrationDate;
+		this.activ = activ;
+		this.author = author;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getSurname() {
+		return surname;
+	}
+
+	public LocalDate getRegistrationDate() {
+		return registrationDate;
+	}
+
+	public Boolean getActiv() {
+		return activ;
+	}
+
+	public Boolean getAuthor() {
+		return author;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		UserSummary other = (UserSummary) obj;
+		return Objects.equals(id, other.id);
+	}
+
+	@Override
+	public String toString() {
+		return "UserSummary [id=" + id + ", email=" + email + ", name=" + name + ", surname=" + surname
+				+ ", registrationDate=" + registrationDate + ", activ=" + activ + ", author=" + author + "]";
+	}
+}
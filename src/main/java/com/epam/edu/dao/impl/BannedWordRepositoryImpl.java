@@ -0,0 +1,42 @@
+package com.epam.edu.dao.impl;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+
+import com.epam.edu.dao.BannedWordRepository;
+import com.epam.edu.entity.BannedWord;
+
+@Repository
+public class BannedWordRepositoryImpl extends NewsPortalBaseRepository<BannedWord, Long> implements BannedWordRepository {
+
+	protected BannedWordRepositoryImpl() {
+		super(BannedWord.class);
+	}
+
+	@Override
+	public List<BannedWord> findAllOrdered() {
+
+		Session session = entityManager.unwrap(Session.class);
+		return session.createQuery("FROM BannedWord w ORDER BY w.word", BannedWord.class).getResultList();
+	}
+
+	@Override
+	public List<String> findAllWords() {
+
+		Session session = entityManager.unwrap(Session.class);
+		return session.createQuery("SELECT w.word FROM BannedWord w", String.class).getResultList();
+	}
+
+	@Override
+	public boolean existsByWord(String word) {
+
+		Session session = entityManager.unwrap(Session.class);
+		Query<Long> query = session.createQuery("SELECT w.id FROM BannedWord w WHERE w.word = :word", Long.class);
+		query.setParameter("word", word);
+		query.setMaxResults(1);
+		return !query.getResultList().isEmpty();
+	}
+}
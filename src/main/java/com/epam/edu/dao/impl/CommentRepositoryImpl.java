@@ -1,11 +1,23 @@
 package com.epam.edu.dao.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 
+import com.epam.edu.dao.CommentKey;
 import com.epam.edu.dao.CommentRepository;
 import com.epam.edu.entity.Comment;
+import com.epam.edu.entity.PendingComment;
+
+import jakarta.persistence.TypedQuery;
 
 @Repository
 public class CommentRepositoryImpl extends NewsPortalBaseRepository<Comment, Long> implements CommentRepository {
@@ -23,11 +35,66 @@ public class CommentRepositoryImpl extends NewsPortalBaseRepository<Comment, Lon
 	}
 
 	@Override
-	public List<Comment> findAllByNewsId(Long newsId) {
+	public List<Long> insertAll(List<PendingComment> comments) {
+		Session session = entityManager.unwrap(Session.class);
+		return session.doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement("""
+					INSERT INTO commentaries (news_id, users_id, content, created_date, is_activ)
+					VALUES (?, ?, ?, ?, ?)
+					""", Statement.RETURN_GENERATED_KEYS)) {
+				for (PendingComment comment : comments) {
+					statement.setLong(1, comment.newsId());
+					statement.setLong(2, comment.userId());
+					statement.setString(3, comment.text());
+					statement.setTimestamp(4, Timestamp.valueOf(comment.createdAt()));
+					statement.setBoolean(5, comment.active());
+					statement.addBatch();
+				}
+				statement.executeBatch();
+
+				List<Long> ids = new ArrayList<>(comments.size());
+				try (ResultSet keys = statement.getGeneratedKeys()) {
+					while (keys.next()) {
+						ids.add(keys.getLong(1));
+					}
+				}
+				return ids;
+			}
+		});
+	}
+
+	@Override
+	public List<CommentKey> findCommentKeys(Collection<Long> newsIds, Collection<Long> userIds, LocalDateTime from,
+			LocalDateTime to) {
 		return entityManager.createQuery("""
+				    SELECT new com.epam.edu.dao.CommentKey(c.news.id, c.user.id, c.createdAt)
+				    FROM Comment c
+				    WHERE c.news.id IN :newsIds AND c.user.id IN :userIds
+				    AND c.createdAt BETWEEN :from AND :to
+				""", CommentKey.class).setParameter("newsIds", newsIds).setParameter("userIds", userIds)
+				.setParameter("from", from).setParameter("to", to).getResultList();
+	}
+
+	@Override
+	public List<Comment> findPageByNewsId(Long newsId, boolean activeOnly, Long afterId, int limit) {
+		StringBuilder hql = new StringBuilder("""
 				    SELECT c FROM Comment c
+				    LEFT JOIN FETCH c.user
 				    WHERE c.news.id = :newsId
-				    ORDER BY c.createdAt ASC
-				""", Comment.class).setParameter("newsId", newsId).getResultList();
+				""");
+		if (activeOnly) {
+			hql.append(" AND c.activ = TRUE");
+		}
+		if (afterId != null) {
+			hql.append(" AND c.id > :afterId");
+		}
+		hql.append(" ORDER BY c.id ASC");
+
+		TypedQuery<Comment> query = entityManager.createQuery(hql.toString(), Comment.class)
+				.setParameter("newsId", newsId).setMaxResults(limit);
+		if (afterId != null) {
+			query.setParameter("afterId", afterId);
+		}
+		return query.getResultList();
 	}
 }
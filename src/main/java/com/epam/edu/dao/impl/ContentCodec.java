@@ -0,0 +1,134 @@
+package com.epam.edu.dao.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * On-disk format of stored news bodies:
+ * 
+ * <pre>
+ * magic "NPC1" | codec (1 byte) | original length (4 bytes) | payload
+ * </pre>
+ * 
+ * Codec {@link #RAW} stores UTF-8 bytes as is, {@link #DEFLATE} stores them
+ * deflated. Files without the magic are legacy plain text.
+ */
+final class ContentCodec {
+
+	static final byte RAW = 0;
+	static final byte DEFLATE = 1;
+
+	static final int HEADER_LENGTH = 9;
+	private static final byte[] MAGIC = { 'N', 'P', 'C', '1' };
+
+	private ContentCodec() {
+	}
+
+	/**
+	 * Deflates the body when it is at least {@code minCompressLength} bytes and
+	 * compression actually saves space, otherwise stores it raw.
+	 */
+	static byte[] encode(byte[] text, int minCompressLength) {
+		if (text.length >= minCompressLength) {
+			byte[] deflated = deflate(text);
+			if (deflated.length < text.length) {
+				return withHeader(DEFLATE, text.length, deflated);
+			}
+		}
+		return withHeader(RAW, text.length, text);
+	}
+
+	static boolean hasHeader(byte[] head) {
+		if (head.length < HEADER_LENGTH) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (head[i] != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static String decode(byte[] stored) {
+		if (!hasHeader(stored)) {
+			return new String(stored, StandardCharsets.UTF_8);
+		}
+		Header header = readHeader(stored);
+		if (header.codec() == RAW) {
+			return new String(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+		}
+		return new String(inflate(stored, header.originalLength()), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Header of a stored file, or null for a legacy plain-text file.
+	 */
+	static Header readHeader(byte[] head) {
+		if (!hasHeader(head)) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(head, MAGIC.length, HEADER_LENGTH - MAGIC.length);
+		byte codec = buffer.get();
+		if (codec != RAW && codec != DEFLATE) {
+			throw new IllegalStateException("Unknown content codec: " + codec);
+		}
+		int originalLength = buffer.getInt();
+		if (originalLength < 0) {
+			throw new IllegalStateException("Corrupted content header: length " + originalLength);
+		}
+		return new Header(codec, originalLength);
+	}
+
+	private static byte[] withHeader(byte codec, int originalLength, byte[] payload) {
+		return ByteBuffer.allocate(HEADER_LENGTH + payload.length).put(MAGIC).put(codec).putInt(originalLength)
+				.put(payload).array();
+	}
+
+	private static byte[] deflate(byte[] text) {
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setInput(text);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, text.length / 2));
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] stored, int originalLength) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+			byte[] text = new byte[originalLength];
+			int length = 0;
+			while (length < originalLength && !inflater.finished()) {
+				int inflated = inflater.inflate(text, length, originalLength - length);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IllegalStateException("Truncated compressed content");
+				}
+				length += inflated;
+			}
+			if (length < originalLength) {
+				throw new IllegalStateException("Truncated compressed content");
+			}
+			return text;
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupted compressed content", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	record Header(byte codec, int originalLength) {
+	}
+}
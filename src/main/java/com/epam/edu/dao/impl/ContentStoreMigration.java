@@ -0,0 +1,76 @@
+package com.epam.edu.dao.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off rewrite of legacy plain-text content files into the
+ * {@link ContentCodec} format, in place, so {@code News.contentPath} values
+ * stay valid. Enabled with {@code news.content.migrate-on-startup=true};
+ * safe to run repeatedly and while the portal serves reads, since each file
+ * is replaced by an atomic rename.
+ */
+@Component
+@ConditionalOnProperty(name = "news.content.migrate-on-startup", havingValue = "true")
+public class ContentStoreMigration implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(ContentStoreMigration.class);
+
+	private final Path root;
+	private final int minCompressLength;
+
+	public ContentStoreMigration(@Value("${news.content.dir:resources/news/content}") String root,
+			@Value("${news.content.compress-min-bytes:512}") int minCompressLength) {
+		this.root = Path.of(root);
+		this.minCompressLength = minCompressLength;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws IOException {
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		long files = 0;
+		long bytesBefore = 0;
+		long bytesAfter = 0;
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)
+					.filter(p -> !p.getFileName().toString().endsWith(".tmp"))::iterator) {
+				byte[] stored = Files.readAllBytes(file);
+				if (ContentCodec.hasHeader(stored)) {
+					continue;
+				}
+				byte[] encoded = ContentCodec.encode(stored, minCompressLength);
+				rewrite(file, encoded);
+				files++;
+				bytesBefore += stored.length;
+				bytesAfter += encoded.length;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		log.info("Content migration finished: files={}, bytesBefore={}, bytesAfter={}", files, bytesBefore,
+				bytesAfter);
+	}
+
+	private void rewrite(Path file, byte[] encoded) throws IOException {
+		Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+		try {
+			Files.write(temp, encoded);
+			FileContentStore.moveIntoPlace(temp, file);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+}
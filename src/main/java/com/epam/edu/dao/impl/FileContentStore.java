@@ -0,0 +1,304 @@
+package com.epam.edu.dao.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.epam.edu.dao.ContentStore;
+import com.epam.edu.dao.ContentStream;
+import com.epam.edu.dao.StoredContent;
+import com.epam.edu.dao.impl.ContentCodec.Header;
+
+/**
+ * Content-addressed file store: a body is saved under its SHA-256 hash in a
+ * two-level shard directory ({@code ab/cd/abcd...}), so identical bodies are
+ * stored once and no directory grows beyond a few hundred entries. Files are
+ * written to a temp file in the target directory and renamed into place, so
+ * readers never observe a partial file. Bodies are stored in the
+ * {@link ContentCodec} format; legacy plain-text files are still readable.
+ */
+@Repository
+public class FileContentStore implements ContentStore {
+
+	private static final int HASH_LENGTH = 64;
+
+	private final Path root;
+	private final Path absoluteRoot;
+	private final int minCompressLength;
+
+	public FileContentStore(@Value("${news.content.dir:resources/news/content}") String root,
+			@Value("${news.content.compress-min-bytes:512}") int minCompressLength) {
+		this.root = Path.of(root);
+		this.absoluteRoot = this.root.toAbsolutePath().normalize();
+		this.minCompressLength = minCompressLength;
+	}
+
+	@Override
+	public String save(String content) {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		String hash = sha256(bytes);
+		Path file = root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+		if (Files.exists(file)) {
+			// reused body: refresh the timestamp so the garbage collector's grace period covers it
+			touch(file);
+			return file.toString();
+		}
+
+		try {
+			Path dir = Files.createDirectories(file.getParent());
+			Path temp = Files.createTempFile(dir, hash, ".tmp");
+			try {
+				Files.write(temp, ContentCodec.encode(bytes, minCompressLength));
+				moveIntoPlace(temp, file);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			return file.toString();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public String read(String location) {
+		try {
+			return ContentCodec.decode(Files.readAllBytes(Path.of(location)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public ContentStream open(String location) {
+		Path file = Path.of(location);
+		try {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+			try {
+				ByteBuffer head = ByteBuffer.allocate(ContentCodec.HEADER_LENGTH);
+				while (head.hasRemaining()) {
+					if (channel.read(head) < 0) {
+						break;
+					}
+				}
+				Header header = ContentCodec.readHeader(Arrays.copyOf(head.array(), head.position()));
+				String version = file.getFileName() + "-" + Files.getLastModifiedTime(file).toMillis();
+				if (header == null) {
+					return new FileContentStream(channel, file, version, 0, channel.size(), false);
+				}
+				return new FileContentStream(channel, file, version, ContentCodec.HEADER_LENGTH,
+						header.originalLength(), header.codec() == ContentCodec.DEFLATE);
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public Stream<StoredContent> list() {
+		if (!Files.isDirectory(root)) {
+			return Stream.empty();
+		}
+		List<StoredContent> files = new ArrayList<>();
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					if (attributes.isRegularFile()) {
+						files.add(new StoredContent(file.toString(), keyOf(file), attributes.size(),
+								attributes.lastModifiedTime().toInstant()));
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					// deleted or replaced while the walk was running
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return files.stream();
+	}
+
+	@Override
+	public String keyOf(String location) {
+		// locations saved on Windows use backslashes
+		return keyOf(Path.of(location.replace('\\', '/')));
+	}
+
+	/**
+	 * The path below the store root with {@code /} separators. A location
+	 * saved under another spelling of the root falls back to the shard layout:
+	 * {@code ab/cd/<hash>} for hashed bodies, the bare file name for legacy
+	 * files, which lie directly in the root.
+	 */
+	private String keyOf(Path location) {
+		Path path = location.toAbsolutePath().normalize();
+		if (path.startsWith(absoluteRoot) && !path.equals(absoluteRoot)) {
+			StringJoiner key = new StringJoiner("/");
+			for (Path name : absoluteRoot.relativize(path)) {
+				key.add(name.toString());
+			}
+			return key.toString();
+		}
+		String name = path.getFileName() != null ? path.getFileName().toString() : "";
+		if (name.length() == HASH_LENGTH && name.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+			return name.substring(0, 2) + "/" + name.substring(2, 4) + "/" + name;
+		}
+		return name;
+	}
+
+	@Override
+	public boolean deleteIfUnmodifiedSince(String location, Instant cutoff) {
+		Path file = Path.of(location);
+		try {
+			if (!Files.exists(file) || Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+				return false;
+			}
+			return Files.deleteIfExists(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void touch(Path file) {
+		try {
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static void moveIntoPlace(Path temp, Path file) throws IOException {
+		try {
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			// same content under the same name, so a concurrent writer winning is fine
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static final class FileContentStream implements ContentStream {
+
+		private final FileChannel channel;
+		private final Path file;
+		private final String version;
+		private final long dataOffset;
+		private final long length;
+		private final boolean compressed;
+
+		private FileContentStream(FileChannel channel, Path file, String version, long dataOffset, long length,
+				boolean compressed) {
+			this.channel = channel;
+			this.file = file;
+			this.version = version;
+			this.dataOffset = dataOffset;
+			this.length = length;
+			this.compressed = compressed;
+		}
+
+		@Override
+		public long length() {
+			return length;
+		}
+
+		@Override
+		public String version() {
+			return version;
+		}
+
+		@Override
+		public Path rawFile() {
+			return compressed ? null : file;
+		}
+
+		@Override
+		public long rawOffset() {
+			return dataOffset;
+		}
+
+		@Override
+		public void transferTo(OutputStream out, long offset, long count) throws IOException {
+			if (!compressed) {
+				WritableByteChannel target = Channels.newChannel(out);
+				long position = dataOffset + offset;
+				long remaining = count;
+				while (remaining > 0) {
+					long transferred = channel.transferTo(position, remaining, target);
+					if (transferred <= 0) {
+						break;
+					}
+					position += transferred;
+					remaining -= transferred;
+				}
+				return;
+			}
+
+			channel.position(dataOffset);
+			InputStream in = new InflaterInputStream(Channels.newInputStream(channel));
+			in.skipNBytes(offset);
+			byte[] buffer = new byte[8192];
+			long remaining = count;
+			while (remaining > 0) {
+				int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					break;
+				}
+				out.write(buffer, 0, read);
+				remaining -= read;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	private static String sha256(byte[] bytes) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
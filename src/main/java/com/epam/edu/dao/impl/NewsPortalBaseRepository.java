@@ -32,6 +32,11 @@ public abstract class NewsPortalBaseRepository<T, ID> implements BaseRepository<
 		return Optional.ofNullable(entityManager.find(entityClass, id));
 	}
 
+	@Override
+	public T getReference(ID id) {
+		return entityManager.getReference(entityClass, id);
+	}
+
 	@Override
 	public List<T> findAll() {
 		CriteriaQuery<T> query = entityManager.getCriteriaBuilder().createQuery(entityClass);
@@ -1,38 +1,43 @@
 package com.epam.edu.dao.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
+import com.epam.edu.dao.ContentRef;
+import com.epam.edu.dao.NewsFacetRow;
 import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.NewsText;
+import com.epam.edu.dao.NewsTitle;
 import com.epam.edu.entity.News;
 import com.epam.edu.entity.NewsGroup;
+import com.epam.edu.entity.NewsStatus;
 
 @Repository
 public class NewsRepositoryImpl extends NewsPortalBaseRepository<News, Long> implements NewsRepository {
 
+	private static final String FEED_ORDER = "ORDER BY n.publishingDateTime DESC NULLS LAST, n.id DESC";
+
 	protected NewsRepositoryImpl() {
 		super(News.class);
 	}
 
 	@Override
-	public List<News> findFilteredNews(Integer groupId, Long authorId, boolean publishedOnly, int page, int size) {
+	public List<Long> findFilteredNewsIds(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status,
+			int page, int size) {
 		Session session = entityManager.unwrap(Session.class);
 
-		String hql = "SELECT DISTINCT n FROM News n " + "LEFT JOIN n.authors a "
-				+ "WHERE (:groupId IS NULL OR n.newsGroup.id = :groupId) "
-				+ "AND (:authorId IS NULL OR a.id = :authorId) "
-				+ "AND (:publishedOnly = FALSE OR (n.activ = TRUE AND n.publishingDateTime <= :currentTime)) "
-				+ "ORDER BY n.publishingDateTime DESC NULLS LAST, n.id DESC";
+		String hql = "SELECT n.id FROM News n " + feedWhere(groupIds, authorIds, status) + FEED_ORDER;
 
-		Query<News> query = session.createQuery(hql, News.class);
-		query.setParameter("groupId", groupId);
-		query.setParameter("authorId", authorId);
-		query.setParameter("publishedOnly", publishedOnly);
-		query.setParameter("currentTime", LocalDateTime.now());
+		Query<Long> query = session.createQuery(hql, Long.class);
+		bindFeedParameters(query, groupIds, authorIds);
 
 		query.setFirstResult(page * size);
 		query.setMaxResults(size);
@@ -41,23 +46,275 @@ public class NewsRepositoryImpl extends NewsPortalBaseRepository<News, Long> imp
 	}
 
 	@Override
-	public long countFilteredNews(Integer groupId, Long authorId, boolean publishedOnly) {
+	public List<Long> findFilteredNewsIdsAfter(Collection<Integer> groupIds, Collection<Long> authorIds,
+			NewsStatus status, LocalDateTime afterPublishingDateTime, Long afterId, int size) {
+		Session session = entityManager.unwrap(Session.class);
+
+		// seek predicate mirrors "publishingDateTime DESC NULLS LAST, id DESC"
+		String seek = afterPublishingDateTime != null
+				? "AND (n.publishingDateTime < :afterDateTime "
+						+ "OR (n.publishingDateTime = :afterDateTime AND n.id < :afterId) "
+						+ "OR n.publishingDateTime IS NULL) "
+				: "AND n.publishingDateTime IS NULL AND n.id < :afterId ";
+
+		String hql = "SELECT n.id FROM News n " + feedWhere(groupIds, authorIds, status) + seek + FEED_ORDER;
+
+		Query<Long> query = session.createQuery(hql, Long.class);
+		bindFeedParameters(query, groupIds, authorIds);
+		if (afterPublishingDateTime != null) {
+			query.setParameter("afterDateTime", afterPublishingDateTime);
+		}
+		query.setParameter("afterId", afterId);
+
+		query.setMaxResults(size);
+
+		return query.getResultList();
+	}
+
+	@Override
+	public List<News> findAllWithDetailsByIds(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		// two fetches instead of one: joining both to-one and the authors bag would
+		// multiply rows; the second query fills authors on the already loaded instances
+		List<News> loaded = entityManager.createQuery("""
+				    SELECT n FROM News n
+				    JOIN FETCH n.newsGroup
+				    LEFT JOIN FETCH n.publisher
+				    WHERE n.id IN :ids
+				""", News.class).setParameter("ids", ids).getResultList();
+		entityManager.createQuery("""
+				    SELECT DISTINCT n FROM News n
+				    LEFT JOIN FETCH n.authors
+				    WHERE n.id IN :ids
+				""", News.class).setParameter("ids", ids).getResultList();
+
+		Map<Long, News> byId = new HashMap<>();
+		for (News news : loaded) {
+			byId.put(news.getId(), news);
+		}
+		List<News> ordered = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			News news = byId.get(id);
+			if (news != null) {
+				ordered.add(news);
+			}
+		}
+		return ordered;
+	}
+
+	@Override
+	public long countFilteredNews(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status) {
 		Session session = entityManager.unwrap(Session.class);
 
-		String hql = "SELECT COUNT(DISTINCT n) FROM News n " + "LEFT JOIN n.authors a "
-				+ "WHERE (:groupId IS NULL OR n.newsGroup.id = :groupId) "
-				+ "AND (:authorId IS NULL OR a.id = :authorId) "
-				+ "AND (:publishedOnly = FALSE OR (n.activ = TRUE AND n.publishingDateTime <= :currentTime))";
+		String hql = "SELECT COUNT(n) FROM News n " + feedWhere(groupIds, authorIds, status);
 
 		Query<Long> query = session.createQuery(hql, Long.class);
-		query.setParameter("groupId", groupId);
-		query.setParameter("authorId", authorId);
-		query.setParameter("publishedOnly", publishedOnly);
-		query.setParameter("currentTime", LocalDateTime.now());
+		bindFeedParameters(query, groupIds, authorIds);
 
 		return query.getSingleResult();
 	}
 
+	@Override
+	public List<News> findScheduledNews() {
+		return entityManager.createQuery("""
+				    SELECT n FROM News n
+				    JOIN FETCH n.newsGroup
+				    WHERE n.activ = TRUE AND n.visible = FALSE AND n.publishingDateTime IS NOT NULL
+				""", News.class).getResultList();
+	}
+
+	@Override
+	public int markDueNewsVisible(LocalDateTime now) {
+		return entityManager.createQuery("""
+				    UPDATE News n SET n.visible = TRUE, n.updateDateTime = :now
+				    WHERE n.activ = TRUE AND n.visible = FALSE
+				    AND (n.publishingDateTime IS NULL OR n.publishingDateTime <= :now)
+				""").setParameter("now", now).executeUpdate();
+	}
+
+	@Override
+	public boolean markVisibleIfDue(Long id, LocalDateTime now) {
+		return entityManager.createQuery("""
+				    UPDATE News n SET n.visible = TRUE, n.updateDateTime = :now
+				    WHERE n.id = :id AND n.activ = TRUE AND n.visible = FALSE
+				    AND (n.publishingDateTime IS NULL OR n.publishingDateTime <= :now)
+				""").setParameter("id", id).setParameter("now", now).executeUpdate() > 0;
+	}
+
+	@Override
+	public boolean existsById(Long id) {
+		return !entityManager.createQuery("SELECT n.id FROM News n WHERE n.id = :id", Long.class)
+				.setParameter("id", id).setMaxResults(1).getResultList().isEmpty();
+	}
+
+	@Override
+	public void addToCommentCount(Long newsId, long delta) {
+		entityManager.createQuery("""
+				    UPDATE News n SET n.commentCount = n.commentCount + :delta
+				    WHERE n.id = :id
+				""").setParameter("delta", delta).setParameter("id", newsId).executeUpdate();
+	}
+
+	@Override
+	public int recountComments() {
+		return entityManager.createQuery("""
+				    UPDATE News n SET n.commentCount =
+				        (SELECT COUNT(c) FROM Comment c WHERE c.news.id = n.id AND c.activ = TRUE)
+				""").executeUpdate();
+	}
+
+	@Override
+	public int recountComments(Collection<Long> newsIds) {
+		if (newsIds.isEmpty()) {
+			return 0;
+		}
+		return entityManager.createQuery("""
+				    UPDATE News n SET n.commentCount =
+				        (SELECT COUNT(c) FROM Comment c WHERE c.news.id = n.id AND c.activ = TRUE)
+				    WHERE n.id IN :ids
+				""").setParameter("ids", newsIds).executeUpdate();
+	}
+
+	@Override
+	public List<ContentRef> findContentRefsAfter(Long afterId, int limit) {
+		Session session = entityManager.unwrap(Session.class);
+		Query<ContentRef> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.ContentRef(n.id, n.contentPath)
+				FROM News n
+				WHERE n.id > :afterId AND n.contentPath IS NOT NULL
+				ORDER BY n.id
+				""", ContentRef.class);
+		query.setParameter("afterId", afterId);
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+
+	@Override
+	public List<NewsText> findNewsTextsAfter(Long afterId, int limit) {
+		Session session = entityManager.unwrap(Session.class);
+		Query<NewsText> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.NewsText(n.id, n.title, n.brief, n.contentPath, n.visible)
+				FROM News n
+				WHERE n.id > :afterId
+				ORDER BY n.id
+				""", NewsText.class);
+		query.setParameter("afterId", afterId);
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+
+	@Override
+	public List<NewsText> findNewsTextsUpdatedSince(LocalDateTime since, Long afterId, int limit) {
+		Session session = entityManager.unwrap(Session.class);
+		Query<NewsText> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.NewsText(n.id, n.title, n.brief, n.contentPath, n.visible)
+				FROM News n
+				WHERE n.updateDateTime >= :since AND n.id > :afterId
+				ORDER BY n.id
+				""", NewsText.class);
+		query.setParameter("since", since);
+		query.setParameter("afterId", afterId);
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+
+	@Override
+	public List<NewsTitle> findNewsTitlesAfter(Long afterId, int limit) {
+		Session session = entityManager.unwrap(Session.class);
+		Query<NewsTitle> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.NewsTitle(n.id, n.title, COALESCE(n.publishingDateTime, n.createDateTime),
+						n.visible)
+				FROM News n
+				WHERE n.id > :afterId
+				ORDER BY n.id
+				""", NewsTitle.class);
+		query.setParameter("afterId", afterId);
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+
+	@Override
+	public List<NewsFacetRow> findNewsFacetRowsAfter(Long afterId, int limit) {
+		Session session = entityManager.unwrap(Session.class);
+		Query<NewsFacetRow> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.NewsFacetRow(n.id, n.newsGroup.id, n.activ, n.visible, n.publishingDateTime,
+						n.updateDateTime)
+				FROM News n
+				WHERE n.id > :afterId
+				ORDER BY n.id
+				""", NewsFacetRow.class);
+		query.setParameter("afterId", afterId);
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+
+	@Override
+	public List<NewsFacetRow> findNewsFacetRowsUpdatedSince(LocalDateTime since, Long afterId, int limit) {
+		Session session = entityManager.unwrap(Session.class);
+		Query<NewsFacetRow> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.NewsFacetRow(n.id, n.newsGroup.id, n.activ, n.visible, n.publishingDateTime,
+						n.updateDateTime)
+				FROM News n
+				WHERE n.updateDateTime >= :since AND n.id > :afterId
+				ORDER BY n.id
+				""", NewsFacetRow.class);
+		query.setParameter("since", since);
+		query.setParameter("afterId", afterId);
+		query.setMaxResults(limit);
+		return query.getResultList();
+	}
+
+	@Override
+	public Map<Long, List<Long>> findAuthorIdsByNewsIds(Collection<Long> newsIds) {
+		Map<Long, List<Long>> authors = new HashMap<>();
+		if (newsIds.isEmpty()) {
+			return authors;
+		}
+		Session session = entityManager.unwrap(Session.class);
+		Query<Object[]> query = session.createQuery("""
+				SELECT n.id, a.id
+				FROM News n JOIN n.authors a
+				WHERE n.id IN :ids
+				""", Object[].class);
+		query.setParameter("ids", newsIds);
+
+		for (Object[] row : query.getResultList()) {
+			authors.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+		}
+		return authors;
+	}
+
+	private String feedWhere(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status) {
+		StringBuilder where = new StringBuilder("WHERE 1 = 1 ");
+		if (!groupIds.isEmpty()) {
+			where.append("AND n.newsGroup.id IN :groupIds ");
+		}
+		if (!authorIds.isEmpty()) {
+			// a subquery rather than a join, so news by several chosen authors isn't repeated
+			where.append("AND n.id IN (SELECT n2.id FROM News n2 JOIN n2.authors a WHERE a.id IN :authorIds) ");
+		}
+		switch (status) {
+		case PUBLISHED -> where.append("AND n.visible = TRUE ");
+		case SCHEDULED -> where.append("AND n.activ = TRUE AND n.visible = FALSE ");
+		case INACTIVE -> where.append("AND n.activ = FALSE ");
+		default -> {
+		}
+		}
+		return where.toString();
+	}
+
+	private void bindFeedParameters(Query<?> query, Collection<Integer> groupIds, Collection<Long> authorIds) {
+		if (!groupIds.isEmpty()) {
+			query.setParameter("groupIds", groupIds);
+		}
+		if (!authorIds.isEmpty()) {
+			query.setParameter("authorIds", authorIds);
+		}
+	}
+
 	@Override
 	public List<NewsGroup> findAllNewsGroups() {
 
@@ -78,5 +335,9 @@ public class NewsRepositoryImpl extends NewsPortalBaseRepository<News, Long> imp
 		String hql = "FROM NewsGroup ng WHERE ng.id = :id";
 		return entityManager.createQuery(hql, NewsGroup.class).setParameter("id", newsGroupId).getSingleResult();
 	}
-	
-}
\ No newline at end of file
+
+	@Override
+	public NewsGroup getNewsGroupReference(int newsGroupId) {
+		return entityManager.getReference(NewsGroup.class, newsGroupId);
+	}
+}
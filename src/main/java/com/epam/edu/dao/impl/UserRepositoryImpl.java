@@ -1,13 +1,20 @@
 package com.epam.edu.dao.impl;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.hibernate.Session;
 import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import com.epam.edu.dao.UserRepository;
+import com.epam.edu.dao.UserSort;
+import com.epam.edu.dao.UserSummary;
 import com.epam.edu.entity.User;
 
 @Repository
@@ -31,11 +38,27 @@ public class UserRepositoryImpl extends NewsPortalBaseRepository<User, Long> imp
 	public boolean existsByEmail(String email) {
 
 		Session session = entityManager.unwrap(Session.class);
-		Query<User> query = session.createQuery("FROM User u WHERE u.email = :email", User.class);
+		Query<Long> query = session.createQuery("SELECT u.id FROM User u WHERE u.email = :email", Long.class);
 		query.setParameter("email", email);
 		query.setMaxResults(1);
-		User user = query.uniqueResult();
-		return user != null;
+		return !query.getResultList().isEmpty();
+	}
+
+	@Override
+	public long countUsers() {
+
+		Session session = entityManager.unwrap(Session.class);
+		return session.createQuery("SELECT COUNT(u) FROM User u", Long.class).uniqueResult();
+	}
+
+	@Override
+	public Stream<String> streamAllEmails() {
+
+		Session session = entityManager.unwrap(Session.class);
+		Query<String> query = session.createQuery("SELECT u.email FROM User u", String.class);
+		query.setFetchSize(Integer.MIN_VALUE); // MySQL Connector/J: stream rows instead of buffering the result
+		query.setReadOnly(true);
+		return query.stream();
 	}
 
 	@Override
@@ -45,4 +68,91 @@ public class UserRepositoryImpl extends NewsPortalBaseRepository<User, Long> imp
 		Query<User> query = session.createQuery("SELECT u FROM User u WHERE u.author = true", User.class);
 		return query.getResultList();
 	}
+
+	@Override
+	public List<UserSummary> findAuthorSummaries() {
+
+		Session session = entityManager.unwrap(Session.class);
+		Query<UserSummary> query = session.createQuery("""
+				SELECT new com.epam.edu.dao.UserSummary(u.id, u.email, u.name, u.surname, u.registrationDate,
+						u.activ, u.author)
+				FROM User u
+				WHERE u.author = true
+				ORDER BY u.name, u.id
+				""", UserSummary.class);
+		return query.getResultList();
+	}
+
+	@Override
+	public List<Long> findAuthorIds(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Session session = entityManager.unwrap(Session.class);
+		return session.createQuery("SELECT u.id FROM User u WHERE u.id IN :ids AND u.author = true", Long.class)
+				.setParameter("ids", ids).getResultList();
+	}
+
+	@Override
+	public List<UserSummary> findUserSummaries(String prefix, UserSort sort, String afterEmail, Long afterId,
+			int limit) {
+		if (prefix == null || prefix.isBlank()) {
+			return findUserSummaries(null, null, sort, afterEmail, afterId, limit);
+		}
+
+		// email lives in users and name in user_details, so one OR over both can use neither index;
+		// each column gets its own index range scan and the two pages are merged
+		String pattern = escapeLike(prefix.trim()) + "%";
+		List<UserSummary> byEmail = findUserSummaries("u.email", pattern, sort, afterEmail, afterId, limit);
+		List<UserSummary> byName = findUserSummaries("u.name", pattern, sort, afterEmail, afterId, limit);
+
+		// emails compare case-insensitively, as under the column's default collation
+		Comparator<UserSummary> order = sort == UserSort.EMAIL
+				? Comparator.comparing(UserSummary::getEmail, String.CASE_INSENSITIVE_ORDER)
+						.thenComparing(UserSummary::getId)
+				: Comparator.comparing(UserSummary::getId);
+		Map<Long, UserSummary> merged = new LinkedHashMap<>();
+		Stream.concat(byEmail.stream(), byName.stream()).sorted(order)
+				.forEach(summary -> merged.putIfAbsent(summary.getId(), summary));
+		return merged.values().stream().limit(limit).toList();
+	}
+
+	private List<UserSummary> findUserSummaries(String matchedColumn, String pattern, UserSort sort,
+			String afterEmail, Long afterId, int limit) {
+
+		StringBuilder hql = new StringBuilder("""
+				SELECT new com.epam.edu.dao.UserSummary(u.id, u.email, u.name, u.surname, u.registrationDate,
+						u.activ, u.author)
+				FROM User u
+				WHERE 1 = 1
+				""");
+		if (matchedColumn != null) {
+			hql.append(" AND ").append(matchedColumn).append(" LIKE :pattern ESCAPE '!'");
+		}
+		if (afterId != null) {
+			hql.append(sort == UserSort.EMAIL
+					? " AND (u.email > :afterEmail OR (u.email = :afterEmail AND u.id > :afterId))"
+					: " AND u.id > :afterId");
+		}
+		hql.append(sort == UserSort.EMAIL ? " ORDER BY u.email, u.id" : " ORDER BY u.id");
+
+		Session session = entityManager.unwrap(Session.class);
+		Query<UserSummary> query = session.createQuery(hql.toString(), UserSummary.class);
+		if (matchedColumn != null) {
+			query.setParameter("pattern", pattern);
+		}
+		if (afterId != null) {
+			query.setParameter("afterId", afterId);
+			if (sort == UserSort.EMAIL) {
+				query.setParameter("afterEmail", afterEmail);
+			}
+		}
+		query.setMaxResults(limit);
+		query.setReadOnly(true);
+		return query.getResultList();
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+	}
 }
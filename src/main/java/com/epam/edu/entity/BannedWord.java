@@ -0,0 +1,81 @@
+package com.epam.edu.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "banned_words")
+public class BannedWord {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "word", nullable = false, unique = true, length = 100)
+	private String word;
+
+	@Column(name = "created_date", nullable = false)
+	private LocalDateTime createdAt;
+
+	public BannedWord() {
+	}
+
+	public BannedWord(String word) {
+		this.word = word;
+		this.createdAt = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getWord() {
+		return word;
+	}
+
+	public void setWord(String word) {
+		this.word = word;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, word);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		BannedWord other = (BannedWord) obj;
+		return Objects.equals(id, other.id) && Objects.equals(word, other.word);
+	}
+
+	@Override
+	public String toString() {
+		return "BannedWord [id=" + id + ", word=" + word + "]";
+	}
+
+}
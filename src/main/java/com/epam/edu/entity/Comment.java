@@ -9,13 +9,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "commentaries")
+@Table(name = "commentaries", indexes = @Index(name = "idx_commentaries_news_activ", columnList = "news_id, is_activ, id"))
 public class Comment {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,11 +50,11 @@ public class Comment {
 	}
 
 	@Transient
-	public boolean isEditable(User currentUser) {
-		if (currentUser == null || user == null) {
+	public boolean isEditable(Long currentUserId) {
+		if (currentUserId == null || user == null) {
 			return false; 
 		}
-		boolean isAuthor = currentUser.getId().equals(user.getId());
+		boolean isAuthor = currentUserId.equals(user.getId());
 		boolean withinTimeLimit = createdAt != null && createdAt.isAfter(LocalDateTime.now().minusMinutes(30));
 		return isAuthor && withinTimeLimit;
 	}
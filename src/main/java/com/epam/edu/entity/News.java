@@ -13,6 +13,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -24,7 +25,8 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "news")
+@Table(name = "news", indexes = { @Index(name = "idx_news_visible_publish", columnList = "is_visible, publish_date, id"),
+		@Index(name = "idx_news_updated", columnList = "updated_date") })
 public class News {
 
 	@Id
@@ -65,6 +67,13 @@ public class News {
 	@Column(name = "is_active")
 	private boolean activ;
 
+	@Column(name = "is_visible", nullable = false)
+	private boolean visible;
+
+	// maintained by CommentCounter with relative updates, never written by merge
+	@Column(name = "comment_count", nullable = false, updatable = false)
+	private long commentCount;
+
 	@Transient
 	private String content;
 
@@ -181,6 +190,22 @@ public class News {
 		this.activ = activ;
 	}
 
+	public boolean isVisible() {
+		return visible;
+	}
+
+	public void setVisible(boolean visible) {
+		this.visible = visible;
+	}
+
+	public long getCommentCount() {
+		return commentCount;
+	}
+
+	public void setCommentCount(long commentCount) {
+		this.commentCount = commentCount;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hashCode(id);
@@ -201,6 +226,6 @@ public class News {
 		return "News [id=" + id + ", group=" + newsGroup + ", title=" + title + ", brief=" + brief + ", contentPath="
 				+ contentPath + ", publishingDateTime=" + publishingDateTime + ", createDateTime=" + createDateTime
 				+ ", updateDateTime=" + updateDateTime + ", publisher=" + publisher + ", newsStatusId=" + activ
-				+ ", content=" + content + "]";
+				+ ", visible=" + visible + ", content=" + content + "]";
 	}
 }
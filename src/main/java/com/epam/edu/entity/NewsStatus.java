@@ -0,0 +1,27 @@
+package com.epam.edu.entity;
+
+/**
+ * Publication state the news feed can be narrowed to; readers other than
+ * admins always get {@link #PUBLISHED}.
+ */
+public enum NewsStatus {
+	ALL("all"), PUBLISHED("published"), SCHEDULED("scheduled"), INACTIVE("inactive");
+
+	private final String param;
+
+	NewsStatus(String param) {
+		this.param = param;
+	}
+
+	public String getParam() {
+		return param;
+	}
+
+	public static NewsStatus fromParam(String param) {
+		for (NewsStatus status : values()) {
+			if (status.param.equalsIgnoreCase(param))
+				return status;
+		}
+		return ALL;
+	}
+}
@@ -0,0 +1,11 @@
+package com.epam.edu.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * A new comment accepted by the ingestion queue but not yet inserted;
+ * {@code active} is false for comments hidden by moderation.
+ */
+public record PendingComment(Long newsId, Long userId, String authorName, String text, LocalDateTime createdAt,
+		boolean active) {
+}
@@ -0,0 +1,10 @@
+package com.epam.edu.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link ModerationService} when the banned word list changes;
+ * carries the whole new list.
+ */
+public record BannedWordsChangedEvent(List<String> words) {
+}
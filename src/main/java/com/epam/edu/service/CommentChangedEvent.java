@@ -0,0 +1,8 @@
+package com.epam.edu.service;
+
+/**
+ * Published by {@link CommentService} when the number of visible comments of
+ * a news item changes by {@code delta}.
+ */
+public record CommentChangedEvent(Long newsId, int delta) {
+}
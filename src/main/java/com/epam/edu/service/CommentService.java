@@ -1,6 +1,5 @@
 package com.epam.edu.service;
 
-import java.util.List;
 import java.util.Optional;
 
 import com.epam.edu.entity.Comment;
@@ -8,11 +7,39 @@ import com.epam.edu.entity.Comment;
 public interface CommentService {
 	
 	void save(Comment comment);
+
+	/**
+	 * Accepts a new comment for asynchronous insertion.
+	 *
+	 * @return false if the news doesn't exist, the user may not comment or
+	 *         the comment could not be accepted
+	 */
+	boolean submit(Long newsId, UserSnapshot user, String text);
 	
 	void delete(Long id);
+
+	/**
+	 * Shows a hidden comment or hides a visible one.
+	 *
+	 * @return false if there is no such comment
+	 */
+	boolean toggleActive(Long id);
 	
 	Optional<Comment> findById(Long id);
 	
-	List<Comment> findAllByNewsId(Long id);
+	/**
+	 * One "load more" page of comments, oldest first. Hidden comments are
+	 * included only when {@code includeHidden} is set; the next cursor is the
+	 * id of the last comment returned.
+	 */
+	CursorPage<Comment> findPageByNewsId(Long newsId, boolean includeHidden, Long after, int size);
+
+	/**
+	 * The first page of comments, extended page by page until it includes
+	 * {@code throughId}, so a comment further down is shown in its place with
+	 * everything before it. An id that is not a comment on this news gives
+	 * just the first page.
+	 */
+	CursorPage<Comment> findPagesThrough(Long newsId, boolean includeHidden, Long throughId, int size);
 
 }
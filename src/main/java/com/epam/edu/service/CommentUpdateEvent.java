@@ -0,0 +1,19 @@
+package com.epam.edu.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to the visible comment list of a news item, for live
+ * subscribers. {@code REMOVED} carries only the ids.
+ */
+public record CommentUpdateEvent(Type type, Long newsId, Long commentId, String authorName, String text,
+		LocalDateTime createdAt) {
+
+	public enum Type {
+		ADDED, UPDATED, REMOVED
+	}
+
+	public static CommentUpdateEvent removed(Long newsId, Long commentId) {
+		return new CommentUpdateEvent(Type.REMOVED, newsId, commentId, null, null, null);
+	}
+}
@@ -0,0 +1,51 @@
+package com.epam.edu.service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of a keyset-paged listing. There is no total count: the next
+ * page is reached through {@link #getNextCursor()}, which is null on the
+ * last page.
+ */
+public class CursorPage<T> {
+	private final List<T> content;
+	private final String nextCursor;
+
+	public CursorPage(List<T> content, String nextCursor) {
+		this.content = content;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean isHasNext() {
+		return nextCursor != null;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(content, nextCursor);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		CursorPage<?> other = (CursorPage<?>) obj;
+		return Objects.equals(content, other.content) && Objects.equals(nextCursor, other.nextCursor);
+	}
+
+	@Override
+	public String toString() {
+		return "CursorPage [content=" + content + ", nextCursor=" + nextCursor + "]";
+	}
+}
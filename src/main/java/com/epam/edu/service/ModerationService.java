@@ -0,0 +1,20 @@
+package com.epam.edu.service;
+
+import java.util.List;
+
+import com.epam.edu.entity.BannedWord;
+
+/**
+ * Maintenance of the banned word list used to hide comments automatically.
+ */
+public interface ModerationService {
+
+	List<BannedWord> findBannedWords();
+
+	/**
+	 * @return false if the word is blank or already listed
+	 */
+	boolean addBannedWord(String word);
+
+	void removeBannedWord(Long id);
+}
@@ -0,0 +1,9 @@
+package com.epam.edu.service;
+
+/**
+ * Published by {@link NewsService} after a news item is created, updated or
+ * deleted. {@code previous} is null for a new item, {@code current} is null
+ * for a deleted one.
+ */
+public record NewsChangedEvent(NewsSnapshot previous, NewsSnapshot current) {
+}
@@ -0,0 +1,29 @@
+package com.epam.edu.service;
+
+import java.util.Map;
+
+import com.epam.edu.entity.NewsStatus;
+
+/**
+ * How many news each facet value would select. A facet is counted under the
+ * other facets' selections but not its own, so picking one more group or
+ * author adds exactly the number shown next to it. Values with no news are
+ * left out.
+ */
+public record NewsFacets(Map<Integer, Integer> groups, Map<Long, Integer> authors,
+		Map<NewsStatus, Integer> statuses) {
+
+	public static final NewsFacets EMPTY = new NewsFacets(Map.of(), Map.of(), Map.of());
+
+	public int groupCount(Integer groupId) {
+		return groups.getOrDefault(groupId, 0);
+	}
+
+	public int authorCount(Long authorId) {
+		return authors.getOrDefault(authorId, 0);
+	}
+
+	public int statusCount(NewsStatus status) {
+		return statuses.getOrDefault(status, 0);
+	}
+}
@@ -0,0 +1,38 @@
+package com.epam.edu.service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.epam.edu.entity.NewsStatus;
+
+/**
+ * Feed filter: news in any of {@code groupIds} (all groups when empty) by any
+ * of {@code authorIds} (any author when empty) in the given status.
+ */
+public record NewsFilter(Set<Integer> groupIds, Set<Long> authorIds, NewsStatus status) {
+
+	public NewsFilter {
+		groupIds = copyOf(groupIds);
+		authorIds = copyOf(authorIds);
+		status = status != null ? status : NewsStatus.ALL;
+	}
+
+	public static NewsFilter of(Collection<Integer> groupIds, Collection<Long> authorIds, NewsStatus status) {
+		return new NewsFilter(copyOf(groupIds), copyOf(authorIds), status);
+	}
+
+	public static NewsFilter ofGroup(Integer groupId) {
+		return new NewsFilter(groupId != null ? Set.of(groupId) : Set.of(), Set.of(), NewsStatus.ALL);
+	}
+
+	public NewsFilter withStatus(NewsStatus status) {
+		return new NewsFilter(groupIds, authorIds, status);
+	}
+
+	private static <T> Set<T> copyOf(Collection<T> values) {
+		return values == null ? Set.of()
+				: values.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+	}
+}
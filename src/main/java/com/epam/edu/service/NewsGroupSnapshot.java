@@ -0,0 +1,14 @@
+package com.epam.edu.service;
+
+import com.epam.edu.entity.NewsGroup;
+
+/**
+ * Immutable copy of a news group for the in-memory reference data. Where an
+ * entity is needed, take a reference by id instead of attaching this copy.
+ */
+public record NewsGroupSnapshot(int id, String name) {
+
+	public static NewsGroupSnapshot of(NewsGroup group) {
+		return new NewsGroupSnapshot(group.getId(), group.getName());
+	}
+}
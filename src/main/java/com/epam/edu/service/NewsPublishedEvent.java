@@ -0,0 +1,8 @@
+package com.epam.edu.service;
+
+/**
+ * Published when a scheduled news item reaches its publishing time and
+ * becomes visible to readers.
+ */
+public record NewsPublishedEvent(Long newsId, Integer groupId) {
+}
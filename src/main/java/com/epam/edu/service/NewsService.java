@@ -2,6 +2,7 @@ package com.epam.edu.service;
 
 import java.util.List;
 
+import com.epam.edu.dao.ContentStream;
 import com.epam.edu.entity.News;
 import com.epam.edu.entity.NewsGroup;
 import com.epam.edu.entity.UserRole;
@@ -10,12 +11,54 @@ public interface NewsService {
 
 	News saveNews(News news);
 
+	/**
+	 * Saves the news with the given group and authors, resolved from
+	 * {@link ReferenceDataService}. Authors missing there, e.g. promoted since
+	 * its last refresh, are looked up in the database; an id that is not an
+	 * author there either fails the save with a {@link ServiceException}.
+	 */
+	News saveNews(News news, Integer newsGroupId, List<Long> authorIds);
+
+	/**
+	 * The news without its body; {@link News#getContent()} stays null.
+	 */
 	News getNewsById(Long id);
 
+	News getNewsWithContent(Long id);
+
+	/**
+	 * The news as {@code userRole} may read it, or null if it isn't visible to
+	 * them. The body is loaded only if it is at most {@code maxInlineBytes}
+	 * long; a longer one is left for {@link #openNewsContent} to stream.
+	 */
+	News getNewsForReading(Long id, UserRole userRole, long maxInlineBytes);
+
+	ContentStream openNewsContent(Long id, UserRole userRole);
+
 	boolean deleteNews(Long id);
 
 	PagedResult<News> getNewsForPage(int page, int size, UserRole userRole, Integer newsGroupId);
 
+	PagedResult<News> getNewsForPage(int page, int size, UserRole userRole, Integer newsGroupId, String after);
+
+	/**
+	 * Feed page narrowed by groups, authors and status; readers other than
+	 * admins only get published news whatever status is asked for.
+	 */
+	PagedResult<News> getNewsForPage(int page, int size, UserRole userRole, NewsFilter filter, String after);
+
+	/**
+	 * Number of news per group, author and status under {@code filter}, for
+	 * the feed's filter panel.
+	 */
+	NewsFacets countFacets(UserRole userRole, NewsFilter filter);
+
+	/**
+	 * Full-text search over title, brief and body, best matches first; readers
+	 * other than admins only find published news.
+	 */
+	PagedResult<News> searchNews(String query, int page, int size, UserRole userRole);
+
 	List<NewsGroup> findAllNewsGroups();
 
 	NewsGroup findNewsGroupById(Long newsGroupId);
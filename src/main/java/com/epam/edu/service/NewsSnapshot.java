@@ -0,0 +1,31 @@
+package com.epam.edu.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.epam.edu.entity.News;
+import com.epam.edu.entity.User;
+
+/**
+ * Immutable copy of the news fields that derived structures (counters, caches,
+ * indexes) are keyed on, taken before and after a write.
+ */
+public record NewsSnapshot(Long id, Integer groupId, boolean activ, boolean visible,
+		LocalDateTime publishingDateTime, LocalDateTime updateDateTime, List<Long> authorIds) {
+
+	public static NewsSnapshot of(News news) {
+		Integer groupId = news.getNewsGroup() != null ? news.getNewsGroup().getId() : null;
+		List<Long> authorIds = news.getAuthors() != null
+				? news.getAuthors().stream().map(User::getId).toList()
+				: List.of();
+		return new NewsSnapshot(news.getId(), groupId, news.isActiv(), news.isVisible(),
+				news.getPublishingDateTime(), news.getUpdateDateTime(), authorIds);
+	}
+
+	/**
+	 * Active but not yet visible: waits for its publishing time.
+	 */
+	public boolean isScheduled() {
+		return activ && !visible && publishingDateTime != null;
+	}
+}
@@ -0,0 +1,12 @@
+package com.epam.edu.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link NewsService} when a news item is saved, with the text
+ * that search and typeahead index; {@code publishedAt} falls back to the
+ * creation time for undated news.
+ */
+public record NewsTextChangedEvent(Long newsId, String title, String brief, String content, boolean visible,
+		LocalDateTime publishedAt) {
+}
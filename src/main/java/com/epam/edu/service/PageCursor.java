@@ -0,0 +1,81 @@
+package com.epam.edu.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Opaque "after" cursor for keyset paging: the sort key (timestamp + id) of
+ * the last row of the previous page. A null timestamp marks rows from the
+ * NULLS LAST tail of the ordering.
+ */
+public final class PageCursor {
+
+	private static final String NULL_TIMESTAMP = "-";
+	private static final char SEPARATOR = '|';
+
+	private final LocalDateTime timestamp;
+	private final long id;
+
+	private PageCursor(LocalDateTime timestamp, long id) {
+		this.timestamp = timestamp;
+		this.id = id;
+	}
+
+	public static PageCursor of(LocalDateTime timestamp, Long id) {
+		return new PageCursor(timestamp, Objects.requireNonNull(id, "id"));
+	}
+
+	public String encode() {
+		String raw = (timestamp != null ? timestamp.toString() : NULL_TIMESTAMP) + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Optional<PageCursor> decode(String token) {
+		if (token == null || token.isBlank()) {
+			return Optional.empty();
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			if (separator < 0) {
+				return Optional.empty();
+			}
+			String time = raw.substring(0, separator);
+			long id = Long.parseLong(raw.substring(separator + 1));
+			return Optional.of(new PageCursor(NULL_TIMESTAMP.equals(time) ? null : LocalDateTime.parse(time), id));
+		} catch (RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+
+	public LocalDateTime getTimestamp() {
+		return timestamp;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(timestamp, id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		PageCursor other = (PageCursor) obj;
+		return id == other.id && Objects.equals(timestamp, other.timestamp);
+	}
+
+	@Override
+	public String toString() {
+		return "PageCursor [timestamp=" + timestamp + ", id=" + id + "]";
+	}
+}
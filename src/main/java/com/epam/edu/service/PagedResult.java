@@ -9,6 +9,7 @@ public class PagedResult<T> {
 	private int pageSize;
 	private long totalElements;
 	private int totalPages;
+	private String nextCursor;
 
 	public PagedResult(List<T> content, int currentPage, int pageSize, long totalElements) {
 		this.content = content;
@@ -58,9 +59,17 @@ public class PagedResult<T> {
 		this.totalPages = totalPages;
 	}
 
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(content, currentPage, pageSize, totalElements, totalPages);
+		return Objects.hash(content, currentPage, pageSize, totalElements, totalPages, nextCursor);
 	}
 
 	@Override
@@ -73,13 +82,14 @@ public class PagedResult<T> {
 			return false;
 		PagedResult<?> other = (PagedResult<?>) obj;
 		return Objects.equals(content, other.content) && currentPage == other.currentPage && pageSize == other.pageSize
-				&& totalElements == other.totalElements && totalPages == other.totalPages;
+				&& totalElements == other.totalElements && totalPages == other.totalPages
+				&& Objects.equals(nextCursor, other.nextCursor);
 	}
 
 	@Override
 	public String toString() {
 		return "PagedResult [content=" + content + ", currentPage=" + currentPage + ", pageSize=" + pageSize
-				+ ", totalElements=" + totalElements + ", totalPages=" + totalPages + "]";
+				+ ", totalElements=" + totalElements + ", totalPages=" + totalPages + ", nextCursor=" + nextCursor + "]";
 	}
 
 }
@@ -0,0 +1,27 @@
+package com.epam.edu.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.epam.edu.dao.UserSummary;
+
+/**
+ * News groups and authors as needed by the news editor, served from memory.
+ */
+public interface ReferenceDataService {
+
+	List<NewsGroupSnapshot> getNewsGroups();
+
+	Optional<NewsGroupSnapshot> findNewsGroup(Integer id);
+
+	List<UserSummary> getAuthors();
+
+	/**
+	 * Authors with the given ids, in the order requested; ids that are not
+	 * authors are skipped.
+	 */
+	List<UserSummary> findAuthorsByIds(Collection<Long> ids);
+
+	void refresh();
+}
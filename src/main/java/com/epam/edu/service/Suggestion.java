@@ -0,0 +1,11 @@
+package com.epam.edu.service;
+
+/**
+ * One typeahead entry: a news title or an author name.
+ */
+public record Suggestion(Type type, Long id, String text) {
+
+	public enum Type {
+		NEWS, AUTHOR
+	}
+}
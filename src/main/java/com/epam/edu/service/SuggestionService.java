@@ -0,0 +1,15 @@
+package com.epam.edu.service;
+
+import java.util.List;
+
+/**
+ * Typeahead over news titles and author names, served from memory.
+ */
+public interface SuggestionService {
+
+	/**
+	 * Up to {@code limit} most recent news with a title word starting with
+	 * {@code prefix}, followed by up to {@code limit} matching authors.
+	 */
+	List<Suggestion> suggest(String prefix, int limit, boolean publishedOnly);
+}
@@ -0,0 +1,9 @@
+package com.epam.edu.service;
+
+/**
+ * Published by {@link UserService} after a user is registered, updated or
+ * deleted, so that copies of the user held outside the persistence context
+ * can be dropped.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
@@ -0,0 +1,37 @@
+package com.epam.edu.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque "after" cursor for the admin user list: the sort key (email + id)
+ * of the last row of the previous page. The email part is empty when the
+ * list is sorted by id.
+ */
+public record UserListCursor(String email, long id) {
+
+	private static final char SEPARATOR = '|';
+
+	public String encode() {
+		String raw = (email != null ? email : "") + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Optional<UserListCursor> decode(String token) {
+		if (token == null || token.isBlank()) {
+			return Optional.empty();
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			if (separator < 0) {
+				return Optional.empty();
+			}
+			return Optional.of(new UserListCursor(raw.substring(0, separator),
+					Long.parseLong(raw.substring(separator + 1))));
+		} catch (RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+}
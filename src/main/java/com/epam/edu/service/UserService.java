@@ -3,6 +3,8 @@ package com.epam.edu.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.epam.edu.dao.UserSort;
+import com.epam.edu.dao.UserSummary;
 import com.epam.edu.entity.RegistrationInfo;
 import com.epam.edu.entity.User;
 
@@ -18,11 +20,16 @@ public interface UserService {
 
 	User findByEmail(String email);
 
+	/**
+	 * Quick pre-check for the registration form. It may miss an address
+	 * registered moments ago on another node; {@link #addNew} checks the
+	 * database itself.
+	 */
 	boolean existsByEmail(String email);
 
 	User save(User user);
 
-	List<User> findAll();
+	CursorPage<UserSummary> findUsersForAdmin(String search, UserSort sort, String after, int size);
 
 	void deleteUserByAdmin(Long userId, User admin);
 
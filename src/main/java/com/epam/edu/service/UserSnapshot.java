@@ -0,0 +1,18 @@
+package com.epam.edu.service;
+
+import java.io.Serializable;
+
+import com.epam.edu.entity.User;
+import com.epam.edu.entity.UserRole;
+
+/**
+ * Immutable copy of the user fields requests are checked against. Safe to
+ * keep in the HTTP session and to share between threads, unlike the entity.
+ */
+public record UserSnapshot(Long id, String email, String name, UserRole role, boolean activ) implements Serializable {
+
+	public static UserSnapshot of(User user) {
+		return new UserSnapshot(user.getId(), user.getEmail(), user.getName(), user.getRole(),
+				Boolean.TRUE.equals(user.isActiv()));
+	}
+}
@@ -0,0 +1,71 @@
+package com.epam.edu.service.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.BannedWordRepository;
+import com.epam.edu.service.BannedWordsChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Checks comment texts against the banned word list. The list is compiled
+ * into a {@link BannedWordMatcher}, so a check is one pass over the text no
+ * matter how many words are listed. Changes made on this node swap in a new
+ * matcher after commit; a periodic reload picks up changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+public class BannedWordFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(BannedWordFilter.class);
+
+	private final BannedWordRepository repository;
+	private final TransactionTemplate transactionTemplate;
+
+	private final AtomicReference<BannedWordMatcher> matcher = new AtomicReference<>(BannedWordMatcher.EMPTY);
+	private final AtomicLong checked = new AtomicLong();
+	private final AtomicLong flagged = new AtomicLong();
+
+	public boolean matches(String text) {
+		checked.incrementAndGet();
+		boolean matches = matcher.get().matches(text);
+		if (matches) {
+			flagged.incrementAndGet();
+		}
+		return matches;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${news.moderation.reload-interval-ms:300000}", initialDelayString = "${news.moderation.reload-interval-ms:300000}")
+	public synchronized void reload() {
+		rebuild(transactionTemplate.execute(status -> repository.findAllWords()));
+	}
+
+	@TransactionalEventListener
+	public synchronized void onBannedWordsChanged(BannedWordsChangedEvent event) {
+		rebuild(event.words());
+	}
+
+	public Stats stats() {
+		return new Stats(matcher.get().size(), checked.get(), flagged.get());
+	}
+
+	private void rebuild(List<String> words) {
+		matcher.set(new BannedWordMatcher(words));
+		log.debug("Banned word matcher rebuilt: words={}", words.size());
+	}
+
+	public record Stats(int words, long checked, long flagged) {
+	}
+}
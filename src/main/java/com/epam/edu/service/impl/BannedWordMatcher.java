@@ -0,0 +1,168 @@
+package com.epam.edu.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho–Corasick automaton over a set of banned words, so a text is
+ * checked against all of them in one pass. Matching ignores case and treats
+ * "ё" as "е". A word matches only as a whole word; a word ending with
+ * {@code *} also matches as a prefix ("спам*" finds "спамер").
+ */
+final class BannedWordMatcher {
+
+	static final BannedWordMatcher EMPTY = new BannedWordMatcher(List.of());
+
+	private static final char PREFIX_MARK = '*';
+
+	// per state: sorted transition characters and the states they lead to
+	private final char[][] labels;
+	private final int[][] targets;
+	private final int[] fail;
+	// per state: words ending here, own or reached through fail links, as (length << 1 | prefix)
+	private final int[][] outputs;
+	private final int wordCount;
+
+	BannedWordMatcher(Collection<String> words) {
+		List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+		List<Integer> ends = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		ends.add(-1);
+
+		int count = 0;
+		for (String raw : words) {
+			String word = normalize(raw);
+			boolean prefix = word.endsWith(String.valueOf(PREFIX_MARK));
+			if (prefix) {
+				word = word.substring(0, word.length() - 1).strip();
+			}
+			if (word.isEmpty()) {
+				continue;
+			}
+			int state = 0;
+			for (int i = 0; i < word.length(); i++) {
+				Integer next = trie.get(state).get(word.charAt(i));
+				if (next == null) {
+					next = trie.size();
+					trie.add(new TreeMap<>());
+					ends.add(-1);
+					trie.get(state).put(word.charAt(i), next);
+				}
+				state = next;
+			}
+			int output = word.length() << 1 | (prefix ? 1 : 0);
+			// "word" and "word*" both listed: the prefix form wins
+			ends.set(state, Math.max(ends.get(state), output));
+			count++;
+		}
+
+		int size = trie.size();
+		labels = new char[size][];
+		targets = new int[size][];
+		fail = new int[size];
+		outputs = new int[size][];
+		wordCount = count;
+
+		for (int state = 0; state < size; state++) {
+			TreeMap<Character, Integer> children = trie.get(state);
+			labels[state] = new char[children.size()];
+			targets[state] = new int[children.size()];
+			int i = 0;
+			for (Map.Entry<Character, Integer> child : children.entrySet()) {
+				labels[state][i] = child.getKey();
+				targets[state][i] = child.getValue();
+				i++;
+			}
+		}
+
+		// breadth-first, so fail links and outputs of shorter states are ready when needed
+		outputs[0] = new int[0];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int child : targets[0]) {
+			fail[child] = 0;
+			outputs[child] = ends.get(child) >= 0 ? new int[] { ends.get(child) } : outputs[0];
+			queue.add(child);
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			for (int i = 0; i < labels[state].length; i++) {
+				char c = labels[state][i];
+				int child = targets[state][i];
+				int f = fail[state];
+				int next;
+				while ((next = step(f, c)) < 0 && f != 0) {
+					f = fail[f];
+				}
+				fail[child] = Math.max(next, 0);
+				int[] inherited = outputs[fail[child]];
+				if (ends.get(child) >= 0) {
+					int[] own = Arrays.copyOf(inherited, inherited.length + 1);
+					own[inherited.length] = ends.get(child);
+					outputs[child] = own;
+				} else {
+					outputs[child] = inherited;
+				}
+				queue.add(child);
+			}
+		}
+	}
+
+	int size() {
+		return wordCount;
+	}
+
+	boolean matches(String text) {
+		if (wordCount == 0 || text == null) {
+			return false;
+		}
+		int state = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = normalize(text.charAt(i));
+			int next;
+			while ((next = step(state, c)) < 0 && state != 0) {
+				state = fail[state];
+			}
+			state = Math.max(next, 0);
+			for (int output : outputs[state]) {
+				int length = output >>> 1;
+				boolean prefix = (output & 1) != 0;
+				if (isBoundary(text, i - length) && (prefix || isBoundary(text, i + 1))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	static String normalize(String word) {
+		if (word == null) {
+			return "";
+		}
+		String stripped = word.strip();
+		StringBuilder normalized = new StringBuilder(stripped.length());
+		for (int i = 0; i < stripped.length(); i++) {
+			normalized.append(normalize(stripped.charAt(i)));
+		}
+		return normalized.toString();
+	}
+
+	private int step(int state, char c) {
+		int i = Arrays.binarySearch(labels[state], c);
+		return i >= 0 ? targets[state][i] : -1;
+	}
+
+	private static char normalize(char c) {
+		char lower = Character.toLowerCase(c);
+		return lower == 'ё' ? 'е' : lower;
+	}
+
+	private static boolean isBoundary(String text, int index) {
+		return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+	}
+}
@@ -0,0 +1,129 @@
+package com.epam.edu.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.service.CommentChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps {@code news.comment_count} in step with the visible comments without
+ * touching the news row on every comment. Committed changes are summed per
+ * news in {@link LongAdder}s and written as relative updates in batches; a
+ * periodic recount corrects any drift, e.g. from deltas lost in a crash.
+ * <p>
+ * A delta is queued only after its comment committed, so the recount already
+ * includes every delta queued before it starts; those are discarded rather
+ * than flushed on top. Deltas queued while it runs may or may not be
+ * included, so their news are recounted once more, with new deltas held off
+ * for that short second pass.
+ */
+@Component
+public class CommentCounter {
+
+	private static final Logger log = LoggerFactory.getLogger(CommentCounter.class);
+
+	private final NewsRepository newsRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+	// read-locked to queue a delta; write-locked where pending deltas are discarded for a recount
+	private final ReadWriteLock queueLock = new ReentrantReadWriteLock();
+
+	public CommentCounter(NewsRepository newsRepository, TransactionTemplate transactionTemplate,
+			@Value("${news.comment-count.batch-size:500}") int batchSize) {
+		this.newsRepository = newsRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+	}
+
+	@TransactionalEventListener
+	public void onCommentChanged(CommentChangedEvent event) {
+		if (event.delta() != 0) {
+			queueLock.readLock().lock();
+			try {
+				pending.computeIfAbsent(event.newsId(), id -> new LongAdder()).add(event.delta());
+			} finally {
+				queueLock.readLock().unlock();
+			}
+		}
+	}
+
+	@PreDestroy
+	@Scheduled(fixedDelayString = "${news.comment-count.flush-interval-ms:5000}")
+	public synchronized void flush() {
+		List<Map.Entry<Long, Long>> deltas = new ArrayList<>();
+		// sumThenReset drains each cell atomically, so concurrent adds land in this or the next flush
+		pending.forEach((newsId, adder) -> {
+			long delta = adder.sumThenReset();
+			if (delta != 0) {
+				deltas.add(Map.entry(newsId, delta));
+			}
+		});
+
+		for (int from = 0; from < deltas.size(); from += batchSize) {
+			List<Map.Entry<Long, Long>> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+			try {
+				transactionTemplate.executeWithoutResult(status -> batch
+						.forEach(delta -> newsRepository.addToCommentCount(delta.getKey(), delta.getValue())));
+			} catch (RuntimeException e) {
+				log.error("Failed to flush comment counts, will retry", e);
+				batch.forEach(delta -> pending.computeIfAbsent(delta.getKey(), id -> new LongAdder())
+						.add(delta.getValue()));
+			}
+		}
+		if (!deltas.isEmpty()) {
+			log.debug("Flushed comment counts for {} news", deltas.size());
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${news.comment-count.reconcile-interval-ms:86400000}", initialDelayString = "${news.comment-count.reconcile-interval-ms:86400000}")
+	public synchronized void reconcile() {
+		discardPending();
+		int updated = transactionTemplate.execute(status -> newsRepository.recountComments());
+
+		queueLock.writeLock().lock();
+		try {
+			Set<Long> touched = discardPending();
+			if (!touched.isEmpty()) {
+				transactionTemplate.execute(status -> newsRepository.recountComments(touched));
+			}
+		} finally {
+			queueLock.writeLock().unlock();
+		}
+		log.info("Comment counts recomputed for {} news", updated);
+	}
+
+	/** Drops the queued deltas, returning the news they were for. */
+	private Set<Long> discardPending() {
+		queueLock.writeLock().lock();
+		try {
+			Set<Long> newsIds = new HashSet<>(pending.keySet());
+			pending.clear();
+			return newsIds;
+		} finally {
+			queueLock.writeLock().unlock();
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package com.epam.edu.service.impl;
+
+import java.io.UncheckedIOException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.CommentKey;
+import com.epam.edu.dao.CommentRepository;
+import com.epam.edu.entity.PendingComment;
+import com.epam.edu.service.CommentChangedEvent;
+import com.epam.edu.service.CommentUpdateEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind insertion of new comments. Requests only enqueue; a single
+ * worker drains whatever has accumulated (up to the batch size) and inserts
+ * it with one JDBC batch, so a burst of comments costs a few multi-row
+ * inserts instead of one transaction each. When the queue stays full for the
+ * offer timeout, or a batch can't be inserted, comments go to the
+ * {@link CommentSpool} and are replayed later.
+ * <p>
+ * The spool is at-least-once: a comment can be replayed after it was in fact
+ * stored, e.g. when a commit succeeded but its acknowledgement was lost, or
+ * the node stopped between a replay and clearing the spool. Replay therefore
+ * skips comments whose author already has a comment on the same news written
+ * within a second of it (the stored time may be rounded to whole seconds).
+ */
+@Component
+public class CommentIngestor {
+
+	private static final Logger log = LoggerFactory.getLogger(CommentIngestor.class);
+
+	private final CommentRepository commentRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CommentSpool spool;
+	private final BlockingQueue<PendingComment> queue;
+	private final int batchSize;
+	private final long offerTimeoutMillis;
+
+	private final AtomicLong inserted = new AtomicLong();
+	private final AtomicLong spooled = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong duplicates = new AtomicLong();
+	private volatile boolean running;
+	private Thread worker;
+
+	public CommentIngestor(CommentRepository commentRepository, TransactionTemplate transactionTemplate,
+			ApplicationEventPublisher eventPublisher, CommentSpool spool,
+			@Value("${news.comment-ingest.queue-capacity:10000}") int queueCapacity,
+			@Value("${news.comment-ingest.batch-size:200}") int batchSize,
+			@Value("${news.comment-ingest.offer-timeout-ms:100}") long offerTimeoutMillis) {
+		this.commentRepository = commentRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.eventPublisher = eventPublisher;
+		this.spool = spool;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+	}
+
+	/**
+	 * @return false if the comment could be neither queued nor spooled
+	 */
+	public boolean submit(PendingComment comment) {
+		try {
+			if (queue.offer(comment, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return spool(List.of(comment));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		replaySpool();
+		running = true;
+		worker = new Thread(this::run, "comment-ingestor");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		if (worker != null) {
+			worker.interrupt();
+			worker.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		List<PendingComment> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		if (!remaining.isEmpty()) {
+			spool(remaining);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${news.comment-ingest.replay-interval-ms:60000}", initialDelayString = "${news.comment-ingest.replay-interval-ms:60000}")
+	public synchronized void replaySpool() {
+		List<PendingComment> comments = spool.take();
+		List<PendingComment> failed = new ArrayList<>();
+		for (int from = 0; from < comments.size(); from += batchSize) {
+			List<PendingComment> batch = comments.subList(from, Math.min(from + batchSize, comments.size()));
+			try {
+				failed.addAll(insert(notYetStored(batch)));
+			} catch (RuntimeException e) {
+				log.error("Failed to check spooled comments against the database", e);
+				failed.addAll(batch);
+			}
+		}
+		if (!failed.isEmpty()) {
+			spool.append(failed);
+		}
+		spool.commitTake();
+		if (!comments.isEmpty()) {
+			log.info("Replayed spooled comments: total={}, failed={}", comments.size(), failed.size());
+		}
+	}
+
+	public Stats stats() {
+		return new Stats(queue.size(), queue.remainingCapacity(), inserted.get(), spooled.get(), dropped.get(),
+				duplicates.get());
+	}
+
+	private void run() {
+		List<PendingComment> batch = new ArrayList<>(batchSize);
+		while (running) {
+			try {
+				batch.add(queue.take());
+				// no waiting for a full batch: under load the queue refills while the previous batch is written
+				queue.drainTo(batch, batchSize - 1);
+				List<PendingComment> failed = insert(batch);
+				if (!failed.isEmpty()) {
+					spool(failed);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (RuntimeException e) {
+				log.error("Comment ingestion failed", e);
+				spool(batch);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private List<PendingComment> notYetStored(List<PendingComment> comments) {
+		Set<Long> newsIds = new HashSet<>();
+		Set<Long> userIds = new HashSet<>();
+		LocalDateTime from = LocalDateTime.MAX;
+		LocalDateTime to = LocalDateTime.MIN;
+		for (PendingComment comment : comments) {
+			newsIds.add(comment.newsId());
+			userIds.add(comment.userId());
+			from = comment.createdAt().isBefore(from) ? comment.createdAt() : from;
+			to = comment.createdAt().isAfter(to) ? comment.createdAt() : to;
+		}
+		LocalDateTime earliest = from.minusSeconds(1);
+		LocalDateTime latest = to.plusSeconds(1);
+		List<CommentKey> stored = transactionTemplate
+				.execute(status -> commentRepository.findCommentKeys(newsIds, userIds, earliest, latest));
+
+		List<PendingComment> fresh = new ArrayList<>(comments.size());
+		for (PendingComment comment : comments) {
+			if (stored.stream().anyMatch(key -> isSameComment(key, comment))) {
+				duplicates.incrementAndGet();
+			} else {
+				fresh.add(comment);
+			}
+		}
+		return fresh;
+	}
+
+	private static boolean isSameComment(CommentKey key, PendingComment comment) {
+		return key.newsId().equals(comment.newsId()) && key.userId().equals(comment.userId())
+				&& Duration.between(key.createdAt(), comment.createdAt()).abs().compareTo(Duration.ofSeconds(1)) < 0;
+	}
+
+	/**
+	 * Inserts the comments and returns those that failed for a reason worth
+	 * retrying. A batch rejected by a constraint is split into single rows, so
+	 * one comment on a since-deleted news doesn't hold back the rest; such rows
+	 * are dropped. Any other failure (the database being unreachable, say)
+	 * returns the whole batch without splitting it.
+	 */
+	private List<PendingComment> insert(List<PendingComment> comments) {
+		if (comments.isEmpty()) {
+			return List.of();
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				List<Long> ids = commentRepository.insertAll(comments);
+				for (int i = 0; i < ids.size(); i++) {
+					PendingComment comment = comments.get(i);
+					if (!comment.active()) {
+						continue;
+					}
+					eventPublisher.publishEvent(new CommentUpdateEvent(CommentUpdateEvent.Type.ADDED,
+							comment.newsId(), ids.get(i), comment.authorName(), comment.text(), comment.createdAt()));
+				}
+				Map<Long, Long> perNews = comments.stream().filter(PendingComment::active)
+						.collect(Collectors.groupingBy(PendingComment::newsId, Collectors.counting()));
+				perNews.forEach((newsId, count) -> eventPublisher
+						.publishEvent(new CommentChangedEvent(newsId, count.intValue())));
+			});
+			inserted.addAndGet(comments.size());
+			return List.of();
+		} catch (RuntimeException e) {
+			if (!isConstraintViolation(e)) {
+				log.error("Failed to insert {} comments", comments.size(), e);
+				return comments;
+			}
+			if (comments.size() > 1) {
+				List<PendingComment> failed = new ArrayList<>();
+				for (PendingComment comment : comments) {
+					failed.addAll(insert(List.of(comment)));
+				}
+				return failed;
+			}
+			log.warn("Dropping comment that violates a constraint: newsId={}, userId={}", comments.get(0).newsId(),
+					comments.get(0).userId());
+			dropped.incrementAndGet();
+			return List.of();
+		}
+	}
+
+	private boolean spool(List<PendingComment> comments) {
+		try {
+			spool.append(comments);
+			spooled.addAndGet(comments.size());
+			return true;
+		} catch (UncheckedIOException e) {
+			log.error("Lost {} comments: could not spool them", comments.size(), e);
+			dropped.addAndGet(comments.size());
+			return false;
+		}
+	}
+
+	private static boolean isConstraintViolation(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DataIntegrityViolationException
+					|| cause instanceof SQLIntegrityConstraintViolationException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public record Stats(int queued, int remainingCapacity, long inserted, long spooled, long dropped,
+			long duplicates) {
+	}
+}
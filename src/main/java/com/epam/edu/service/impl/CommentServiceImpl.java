@@ -1,14 +1,23 @@
 package com.epam.edu.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.epam.edu.dao.NewsRepository;
 import com.epam.edu.dao.impl.CommentRepositoryImpl;
 import com.epam.edu.entity.Comment;
+import com.epam.edu.entity.PendingComment;
+import com.epam.edu.service.CommentChangedEvent;
 import com.epam.edu.service.CommentService;
+import com.epam.edu.service.CommentUpdateEvent;
+import com.epam.edu.service.CursorPage;
+import com.epam.edu.service.UserSnapshot;
 
 import lombok.RequiredArgsConstructor;
 
@@ -16,19 +25,74 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 	
+	private static final int MAX_PAGE_SIZE = 100;
+
 	private final CommentRepositoryImpl repository;
+	private final NewsRepository newsRepository;
+	private final CommentIngestor commentIngestor;
+	private final BannedWordFilter bannedWordFilter;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Override
 	@Transactional
 	public void save(Comment comment) {
-		repository.save(comment);
+		boolean created = comment.getId() == null;
+		boolean wasActive = !created && comment.isActiv();
+		if (comment.isActiv() && bannedWordFilter.matches(comment.getText())) {
+			comment.setActiv(false);
+		}
+		Comment saved = repository.save(comment);
+		Long newsId = saved.getNews().getId();
+		if (saved.isActiv()) {
+			if (created) {
+				eventPublisher.publishEvent(new CommentChangedEvent(newsId, 1));
+			}
+			CommentUpdateEvent.Type type = created ? CommentUpdateEvent.Type.ADDED : CommentUpdateEvent.Type.UPDATED;
+			eventPublisher.publishEvent(update(type, saved));
+		} else if (wasActive) {
+			eventPublisher.publishEvent(new CommentChangedEvent(newsId, -1));
+			eventPublisher.publishEvent(CommentUpdateEvent.removed(newsId, saved.getId()));
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean submit(Long newsId, UserSnapshot user, String text) {
+		if (user == null || !user.activ() || text == null || text.isBlank()
+				|| !newsRepository.existsById(newsId)) {
+			return false;
+		}
+		return commentIngestor.submit(new PendingComment(newsId, user.id(), user.name(), text,
+				LocalDateTime.now(), !bannedWordFilter.matches(text)));
 	}
 
 	@Override
 	@Transactional
 	public void delete(Long id) {
-		repository.deleteById(id);
+		Comment comment = repository.findById(id).orElse(null);
+		if (comment == null) {
+			return;
+		}
+		Long newsId = comment.getNews().getId();
+		boolean active = comment.isActiv();
+		if (repository.deleteById(id) && active) {
+			eventPublisher.publishEvent(new CommentChangedEvent(newsId, -1));
+			eventPublisher.publishEvent(CommentUpdateEvent.removed(newsId, id));
+		}
+	}
 
+	@Override
+	@Transactional
+	public boolean toggleActive(Long id) {
+		Comment comment = repository.findById(id).orElse(null);
+		if (comment == null) {
+			return false;
+		}
+		comment.setActiv(!comment.isActiv());
+		eventPublisher.publishEvent(new CommentChangedEvent(comment.getNews().getId(), comment.isActiv() ? 1 : -1));
+		eventPublisher.publishEvent(comment.isActiv() ? update(CommentUpdateEvent.Type.ADDED, comment)
+				: CommentUpdateEvent.removed(comment.getNews().getId(), id));
+		return true;
 	}
 
 	@Override
@@ -39,7 +103,35 @@ public class CommentServiceImpl implements CommentService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Comment> findAllByNewsId(Long id) {
-		return repository.findAllByNewsId(id);
+	public CursorPage<Comment> findPageByNewsId(Long newsId, boolean includeHidden, Long after, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		List<Comment> rows = repository.findPageByNewsId(newsId, !includeHidden, after, pageSize + 1);
+		if (rows.size() <= pageSize) {
+			return new CursorPage<>(rows, null);
+		}
+		List<Comment> content = List.copyOf(rows.subList(0, pageSize));
+		return new CursorPage<>(content, String.valueOf(content.get(pageSize - 1).getId()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<Comment> findPagesThrough(Long newsId, boolean includeHidden, Long throughId, int size) {
+		CursorPage<Comment> page = findPageByNewsId(newsId, includeHidden, null, size);
+		boolean onThisNews = throughId != null
+				&& repository.findById(throughId).filter(c -> c.getNews().getId().equals(newsId)).isPresent();
+		if (!onThisNews) {
+			return page;
+		}
+		List<Comment> content = new ArrayList<>(page.getContent());
+		while (page.getNextCursor() != null && Long.parseLong(page.getNextCursor()) < throughId) {
+			page = findPageByNewsId(newsId, includeHidden, Long.valueOf(page.getNextCursor()), size);
+			content.addAll(page.getContent());
+		}
+		return new CursorPage<>(content, page.getNextCursor());
+	}
+
+	private static CommentUpdateEvent update(CommentUpdateEvent.Type type, Comment comment) {
+		return new CommentUpdateEvent(type, comment.getNews().getId(), comment.getId(), comment.getUserName(),
+				comment.getText(), comment.getCreatedAt());
 	}
 }
@@ -0,0 +1,129 @@
+package com.epam.edu.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.epam.edu.entity.PendingComment;
+
+/**
+ * Append-only file for comments that could not be queued or inserted, so
+ * they survive an overloaded queue, a database outage or a restart. Every
+ * append is forced to disk before returning. One comment per line:
+ * {@code newsId <TAB> userId <TAB> createdAt <TAB> base64(text) <TAB> base64(authorName) <TAB> active}.
+ * Lines without the last field, written by older versions, are read as active.
+ */
+@Component
+public class CommentSpool {
+
+	private static final Logger log = LoggerFactory.getLogger(CommentSpool.class);
+
+	private final Path file;
+	private final Path replaying;
+
+	public CommentSpool(@Value("${news.comment-ingest.spool-file:resources/comments/spool.log}") String file) {
+		this.file = Path.of(file);
+		this.replaying = Path.of(file + ".replaying");
+	}
+
+	public synchronized void append(Collection<PendingComment> comments) {
+		StringBuilder lines = new StringBuilder();
+		for (PendingComment comment : comments) {
+			lines.append(comment.newsId()).append('\t').append(comment.userId()).append('\t')
+					.append(comment.createdAt()).append('\t')
+					.append(encode(comment.text())).append('\t').append(encode(comment.authorName())).append('\t')
+					.append(comment.active() ? '1' : '0').append('\n');
+		}
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND)) {
+				ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to spool comments to " + file, e);
+		}
+	}
+
+	/**
+	 * Moves the spooled comments aside and returns them. The caller must
+	 * either persist them and call {@link #commitTake()}, or re-append the
+	 * ones it could not persist before committing. A take left uncommitted by
+	 * a crash is picked up again by the next take.
+	 */
+	public synchronized List<PendingComment> take() {
+		try {
+			if (!Files.exists(replaying)) {
+				if (!Files.exists(file)) {
+					return List.of();
+				}
+				Files.move(file, replaying, StandardCopyOption.ATOMIC_MOVE);
+			}
+			List<PendingComment> comments = new ArrayList<>();
+			try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					PendingComment comment = parse(line);
+					if (comment != null) {
+						comments.add(comment);
+					}
+				}
+			}
+			return comments;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read comment spool " + file, e);
+		}
+	}
+
+	public synchronized void commitTake() {
+		try {
+			Files.deleteIfExists(replaying);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to delete " + replaying, e);
+		}
+	}
+
+	private PendingComment parse(String line) {
+		String[] parts = line.split("\t", -1);
+		if (parts.length != 5 && parts.length != 6) {
+			log.warn("Skipping malformed spooled comment: {}", line);
+			return null;
+		}
+		try {
+			return new PendingComment(Long.valueOf(parts[0]), Long.valueOf(parts[1]), decode(parts[4]),
+					decode(parts[3]), LocalDateTime.parse(parts[2]), parts.length == 5 || "1".equals(parts[5]));
+		} catch (RuntimeException e) {
+			log.warn("Skipping malformed spooled comment: {}", line);
+			return null;
+		}
+	}
+
+	private static String encode(String value) {
+		return value == null ? "" : Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decode(String value) {
+		return value.isEmpty() ? null : new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+	}
+}
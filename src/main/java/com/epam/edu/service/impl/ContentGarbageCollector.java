@@ -0,0 +1,145 @@
+package com.epam.edu.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.ContentRef;
+import com.epam.edu.dao.ContentStore;
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.StoredContent;
+
+/**
+ * Deletes stored bodies no longer referenced by any {@code news.content_path}
+ * (left behind by edits and deletes). A sweep first reads every content path
+ * in id batches and reduces it to a {@link ContentStore#keyOf store key}, so
+ * a path saved under another spelling of the store root or with Windows
+ * separators still protects its file. It then walks the store and deletes
+ * the unreferenced files in batches, each followed by a pause, so a sweep
+ * doesn't compete with page traffic. Files younger than the grace period are
+ * kept: they may belong to a save whose transaction hasn't committed yet.
+ * <p>
+ * If more than the allowed share of the old files looks unreferenced, the
+ * paths and the store most likely disagree (a moved {@code news.content.dir},
+ * an empty database), and the sweep deletes nothing.
+ */
+@Component
+public class ContentGarbageCollector {
+
+	private static final Logger log = LoggerFactory.getLogger(ContentGarbageCollector.class);
+
+	private final ContentStore contentStore;
+	private final NewsRepository newsRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration gracePeriod;
+	private final int batchSize;
+	private final long batchPauseMillis;
+	private final double maxOrphanShare;
+
+	private volatile Report lastReport;
+
+	public ContentGarbageCollector(ContentStore contentStore, NewsRepository newsRepository,
+			TransactionTemplate transactionTemplate,
+			@Value("${news.content.gc.grace-period-ms:86400000}") long gracePeriodMillis,
+			@Value("${news.content.gc.batch-size:500}") int batchSize,
+			@Value("${news.content.gc.batch-pause-ms:200}") long batchPauseMillis,
+			@Value("${news.content.gc.max-orphan-share:0.5}") double maxOrphanShare) {
+		this.contentStore = contentStore;
+		this.newsRepository = newsRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.gracePeriod = Duration.ofMillis(gracePeriodMillis);
+		this.batchSize = batchSize;
+		this.batchPauseMillis = batchPauseMillis;
+		this.maxOrphanShare = maxOrphanShare;
+	}
+
+	public Report getLastReport() {
+		return lastReport;
+	}
+
+	@Scheduled(fixedDelayString = "${news.content.gc.interval-ms:3600000}", initialDelayString = "${news.content.gc.initial-delay-ms:300000}")
+	public synchronized void sweep() {
+		Instant started = Instant.now();
+		Instant cutoff = started.minus(gracePeriod);
+		long scanned = 0;
+		long deleted = 0;
+		long reclaimedBytes = 0;
+		boolean aborted = false;
+
+		try {
+			Set<String> referenced = findReferencedKeys();
+			List<StoredContent> orphans = new ArrayList<>();
+			try (Stream<StoredContent> stored = contentStore.list()) {
+				Iterator<StoredContent> files = stored.filter(file -> file.lastModified().isBefore(cutoff)).iterator();
+				while (files.hasNext()) {
+					StoredContent file = files.next();
+					scanned++;
+					if (!referenced.contains(file.key())) {
+						orphans.add(file);
+					}
+				}
+			}
+
+			if (orphans.size() > scanned * maxOrphanShare) {
+				aborted = true;
+				log.error("Content garbage collection aborted: {} of {} files look unreferenced, more than {}%;"
+						+ " check news.content.dir against news.content_path", orphans.size(), scanned,
+						Math.round(maxOrphanShare * 100));
+			} else {
+				for (int i = 0; i < orphans.size(); i++) {
+					StoredContent orphan = orphans.get(i);
+					if (contentStore.deleteIfUnmodifiedSince(orphan.location(), cutoff)) {
+						deleted++;
+						reclaimedBytes += orphan.size();
+					}
+					if ((i + 1) % batchSize == 0 && i + 1 < orphans.size()) {
+						Thread.sleep(batchPauseMillis);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			log.error("Content garbage collection failed", e);
+		}
+
+		lastReport = new Report(started, Duration.between(started, Instant.now()), scanned, deleted, reclaimedBytes,
+				aborted);
+		log.info("Content garbage collection: scanned={}, deleted={}, reclaimedBytes={}, aborted={}", scanned,
+				deleted, reclaimedBytes, aborted);
+	}
+
+	private Set<String> findReferencedKeys() throws InterruptedException {
+		Set<String> keys = new HashSet<>();
+		long afterId = 0;
+		while (true) {
+			long from = afterId;
+			List<ContentRef> batch = transactionTemplate
+					.execute(status -> newsRepository.findContentRefsAfter(from, batchSize));
+			for (ContentRef ref : batch) {
+				keys.add(contentStore.keyOf(ref.contentPath()));
+			}
+			if (batch.size() < batchSize) {
+				return keys;
+			}
+			afterId = batch.get(batch.size() - 1).newsId();
+			Thread.sleep(batchPauseMillis);
+		}
+	}
+
+	public record Report(Instant startedAt, Duration duration, long scanned, long deleted, long reclaimedBytes,
+			boolean aborted) {
+	}
+}
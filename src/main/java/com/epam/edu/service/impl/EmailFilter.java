@@ -0,0 +1,252 @@
+package com.epam.edu.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.UserRepository;
+import com.epam.edu.service.UserChangedEvent;
+
+/**
+ * Bloom filter of registered emails, so that registration checks for unknown
+ * addresses are answered without a query. A positive answer has to be
+ * confirmed against the database. A negative answer is definite only for
+ * users registered on this node or before the last rebuild: registrations on
+ * other nodes reach the filter with the next rebuild, so it serves the form's
+ * pre-check and never decides whether a user may be inserted.
+ * <p>
+ * Bits can't be cleared, so deleted users stay in the filter as false
+ * positives until the next rebuild; the filter is rebuilt when enough users
+ * were deleted or it has grown past its planned size. While a rebuild is
+ * streaming emails, new registrations are written to both filters.
+ */
+@Component
+public class EmailFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(EmailFilter.class);
+
+	private final UserRepository userRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final double falsePositiveRate;
+	private final int minCapacity;
+	private final int rebuildAfterDeletes;
+
+	private volatile BloomFilter current;
+	private volatile BloomFilter building;
+	private final AtomicInteger deletesSinceBuild = new AtomicInteger();
+	private final AtomicLong definiteNegatives = new AtomicLong();
+	private final AtomicLong possiblePositives = new AtomicLong();
+
+	public EmailFilter(UserRepository userRepository, TransactionTemplate transactionTemplate,
+			@Value("${security.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+			@Value("${security.email-filter.min-capacity:100000}") int minCapacity,
+			@Value("${security.email-filter.rebuild-after-deletes:1000}") int rebuildAfterDeletes) {
+		this.userRepository = userRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.falsePositiveRate = falsePositiveRate;
+		this.minCapacity = minCapacity;
+		this.rebuildAfterDeletes = rebuildAfterDeletes;
+	}
+
+	/**
+	 * @return false if no user with this email was known to this node at the
+	 *         last rebuild or registered here since; true until the filter is
+	 *         first built
+	 */
+	public boolean mightContain(String email) {
+		BloomFilter filter = current;
+		if (filter == null) {
+			return true;
+		}
+		if (filter.mightContain(normalize(email))) {
+			possiblePositives.incrementAndGet();
+			return true;
+		}
+		definiteNegatives.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Adds an email before its user is committed, so that a concurrent
+	 * registration with the same address is sent to the database.
+	 */
+	public void add(String email) {
+		String key = normalize(email);
+		BloomFilter filter = current;
+		if (filter != null) {
+			filter.add(key);
+		}
+		BloomFilter next = building;
+		if (next != null) {
+			next.add(key);
+		}
+	}
+
+	public void userDeleted() {
+		deletesSinceBuild.incrementAndGet();
+	}
+
+	@TransactionalEventListener
+	public void onUserChanged(UserChangedEvent event) {
+		// re-added after commit to cover a rebuild whose snapshot missed the row
+		if (event.email() != null) {
+			add(event.email());
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		rebuild();
+	}
+
+	@Scheduled(fixedDelayString = "${security.email-filter.check-interval-ms:600000}", initialDelayString = "${security.email-filter.check-interval-ms:600000}")
+	public void rebuildIfStale() {
+		BloomFilter filter = current;
+		if (filter == null || deletesSinceBuild.get() >= rebuildAfterDeletes
+				|| filter.approximateCount() > filter.capacity()) {
+			rebuild();
+		}
+	}
+
+	public synchronized void rebuild() {
+		long started = System.currentTimeMillis();
+		try {
+			long users = transactionTemplate.execute(status -> userRepository.countUsers());
+			int capacity = (int) Math.min(Integer.MAX_VALUE / 2, Math.max(minCapacity, users * 2));
+			BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+			building = next;
+			deletesSinceBuild.set(0);
+			transactionTemplate.executeWithoutResult(status -> {
+				try (Stream<String> emails = userRepository.streamAllEmails()) {
+					emails.map(EmailFilter::normalize).forEach(next::add);
+				}
+			});
+			current = next;
+			log.info("Email filter built: users={}, capacity={}, bits={}, hashes={}, took={}ms", users, capacity,
+					next.bitCount(), next.hashCount(), System.currentTimeMillis() - started);
+		} catch (RuntimeException e) {
+			log.error("Failed to build email filter", e);
+		} finally {
+			building = null;
+		}
+	}
+
+	public Stats stats() {
+		BloomFilter filter = current;
+		return new Stats(filter != null, filter != null ? filter.approximateCount() : 0,
+				filter != null ? filter.capacity() : 0, definiteNegatives.get(), possiblePositives.get(),
+				deletesSinceBuild.get());
+	}
+
+	private static String normalize(String email) {
+		return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	public record Stats(boolean ready, long approximateCount, int capacity, long definiteNegatives,
+			long possiblePositives, int deletesSinceBuild) {
+	}
+
+	/**
+	 * Fixed-size Bloom filter over an {@link AtomicLongArray}, so adds and
+	 * lookups need no locking. Uses double hashing of a 64-bit FNV-1a hash.
+	 */
+	static final class BloomFilter {
+
+		private final AtomicLongArray words;
+		private final long bits;
+		private final int hashes;
+		private final int capacity;
+		private final AtomicLong setBits = new AtomicLong();
+
+		BloomFilter(int capacity, double falsePositiveRate) {
+			double ln2 = Math.log(2);
+			long wanted = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+			int wordCount = (int) Math.max(1, (wanted + 63) / 64);
+			this.words = new AtomicLongArray(wordCount);
+			this.bits = wordCount * 64L;
+			this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) bits / capacity * ln2)));
+			this.capacity = capacity;
+		}
+
+		void add(String key) {
+			long hash = hash(key);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= hashes; i++) {
+				long bit = Math.floorMod(h1 + (long) i * h2, bits);
+				int word = (int) (bit >>> 6);
+				long mask = 1L << bit;
+				long old;
+				do {
+					old = words.get(word);
+					if ((old & mask) != 0) {
+						break;
+					}
+				} while (!words.compareAndSet(word, old, old | mask));
+				if ((old & mask) == 0) {
+					setBits.incrementAndGet();
+				}
+			}
+		}
+
+		boolean mightContain(String key) {
+			long hash = hash(key);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= hashes; i++) {
+				long bit = Math.floorMod(h1 + (long) i * h2, bits);
+				if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/** Swamidass-Baldi estimate of the number of distinct keys added. */
+		long approximateCount() {
+			double fill = (double) setBits.get() / bits;
+			if (fill >= 1) {
+				return Long.MAX_VALUE;
+			}
+			return Math.round(-(double) bits / hashes * Math.log(1 - fill));
+		}
+
+		int capacity() {
+			return capacity;
+		}
+
+		long bitCount() {
+			return bits;
+		}
+
+		int hashCount() {
+			return hashes;
+		}
+
+		private static long hash(String key) {
+			long hash = 0xcbf29ce484222325L;
+			for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+				hash ^= b;
+				hash *= 0x100000001b3L;
+			}
+			// final avalanche so both halves are usable as independent hashes
+			hash ^= hash >>> 33;
+			hash *= 0xff51afd7ed558ccdL;
+			hash ^= hash >>> 33;
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.epam.edu.service.impl;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.epam.edu.dao.BannedWordRepository;
+import com.epam.edu.entity.BannedWord;
+import com.epam.edu.service.BannedWordsChangedEvent;
+import com.epam.edu.service.ModerationService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ModerationServiceImpl implements ModerationService {
+
+	private static final int MAX_WORD_LENGTH = 100;
+
+	private final BannedWordRepository repository;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<BannedWord> findBannedWords() {
+		return repository.findAllOrdered();
+	}
+
+	@Override
+	@Transactional
+	public boolean addBannedWord(String word) {
+		String normalized = BannedWordMatcher.normalize(word);
+		if (normalized.isEmpty() || normalized.equals("*") || normalized.length() > MAX_WORD_LENGTH
+				|| repository.existsByWord(normalized)) {
+			return false;
+		}
+		repository.save(new BannedWord(normalized));
+		publishChange();
+		return true;
+	}
+
+	@Override
+	@Transactional
+	public void removeBannedWord(Long id) {
+		if (repository.deleteById(id)) {
+			publishChange();
+		}
+	}
+
+	private void publishChange() {
+		eventPublisher.publishEvent(new BannedWordsChangedEvent(List.copyOf(repository.findAllWords())));
+	}
+}
@@ -0,0 +1,605 @@
+package com.epam.edu.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.NewsFacetRow;
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.entity.News;
+import com.epam.edu.entity.NewsStatus;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsFacets;
+import com.epam.edu.service.NewsFilter;
+import com.epam.edu.service.NewsPublishedEvent;
+import com.epam.edu.service.NewsSnapshot;
+import com.epam.edu.service.PageCursor;
+
+/**
+ * Answers feed filters and facet counts in memory. Every news gets a dense
+ * ordinal; each group and author, and the active, visible and existing
+ * states, are an {@link OrdinalBitmap} over those ordinals. A filter ORs the
+ * bitmaps of the chosen groups and of the chosen authors, ANDs the two with
+ * the status bitmap, and picks the page from the result in feed order
+ * (publishing time descending, undated last, then id descending). Only the
+ * ids of that page go to the database.
+ * <p>
+ * The index is node-local. It follows this node's saves, deletes and
+ * scheduled publications after commit, and every sync interval it re-reads
+ * the news whose {@code updated_date} moved since the last sync, which
+ * brings in creates, edits and publications made on other nodes. Deletes on
+ * other nodes leave no row to read: the feed drops such ids when a page
+ * fails to load them (see {@link #repair}), and the facet counts still
+ * include them until the periodic rebuild. A node clock running behind the
+ * others by more than the sync overlap can also delay a change until then.
+ * Changes arriving during a rebuild are replayed onto the new index before
+ * it is swapped in.
+ * <p>
+ * The first build runs in the background after startup; until it finishes
+ * {@link #isReady()} is false and callers read the feed from the database.
+ */
+@Component
+public class NewsFacetIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(NewsFacetIndex.class);
+
+	private final NewsRepository newsRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int rebuildBatchSize;
+	private final Duration syncOverlap;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	// both guarded by lock; pending is non-null while a replacement index is being built
+	private Index index = new Index();
+	private List<Consumer<Index>> pending;
+
+	private volatile boolean ready;
+	private volatile Instant lastRebuildAt;
+	private volatile Duration lastRebuildDuration;
+	private volatile Instant lastSyncAt;
+	// guarded by this; start of the last successful build or sync, in the clock updated_date is written with
+	private LocalDateTime syncedFrom;
+
+	public NewsFacetIndex(NewsRepository newsRepository, TransactionTemplate transactionTemplate,
+			@Value("${news.facets.rebuild-batch-size:1000}") int rebuildBatchSize,
+			@Value("${news.facets.sync-overlap-ms:60000}") long syncOverlapMillis) {
+		this.newsRepository = newsRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.rebuildBatchSize = rebuildBatchSize;
+		this.syncOverlap = Duration.ofMillis(syncOverlapMillis);
+	}
+
+	/** Whether the first build has finished; before that, selections and counts are empty. */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Ids of the news matching the filter in feed order, starting after
+	 * {@code cursor} when given and at {@code offset} otherwise, and the
+	 * total number of matches.
+	 */
+	public Selection select(NewsFilter filter, PageCursor cursor, long offset, int limit) {
+		lock.readLock().lock();
+		try {
+			return index.select(filter, cursor, cursor != null ? 0 : offset, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public NewsFacets countFacets(NewsFilter filter) {
+		lock.readLock().lock();
+		try {
+			return index.countFacets(filter);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Compares the news loaded for a selection with what the index holds for
+	 * them. Ids that didn't load were deleted and are dropped; loaded news
+	 * whose state differs (changed on another node since the last sync) are
+	 * put again unless the index already holds a later update. Returns
+	 * whether anything differed, in which case the selection may be stale.
+	 */
+	public boolean repair(List<Long> selectedIds, List<News> loaded) {
+		Map<Long, NewsSnapshot> current = new HashMap<>();
+		for (News news : loaded) {
+			current.put(news.getId(), NewsSnapshot.of(news));
+		}
+		List<Long> missing = new ArrayList<>();
+		List<NewsSnapshot> changed = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			for (Long id : selectedIds) {
+				NewsSnapshot snapshot = current.get(id);
+				if (snapshot == null) {
+					missing.add(id);
+				} else if (!index.holds(snapshot)) {
+					changed.add(snapshot);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (missing.isEmpty() && changed.isEmpty()) {
+			return false;
+		}
+		apply(index -> {
+			missing.forEach(index::remove);
+			changed.forEach(index::put);
+		});
+		return true;
+	}
+
+	@TransactionalEventListener
+	public void onNewsChanged(NewsChangedEvent event) {
+		NewsSnapshot current = event.current();
+		if (current != null) {
+			apply(index -> index.put(current));
+		} else if (event.previous() != null) {
+			Long id = event.previous().id();
+			apply(index -> index.remove(id));
+		}
+	}
+
+	@EventListener
+	public void onNewsPublished(NewsPublishedEvent event) {
+		apply(index -> index.setVisible(event.newsId()));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		Thread loader = new Thread(this::rebuild, "news-facets-rebuild");
+		loader.setDaemon(true);
+		loader.start();
+	}
+
+	@Scheduled(fixedDelayString = "${news.facets.rebuild-interval-ms:3600000}", initialDelayString = "${news.facets.rebuild-interval-ms:3600000}")
+	public synchronized void rebuild() {
+		Instant started = Instant.now();
+		LocalDateTime from = LocalDateTime.now();
+		beginReplacement();
+		Index fresh;
+		try {
+			fresh = build();
+		} catch (RuntimeException e) {
+			log.error("Facet index rebuild failed", e);
+			abandonReplacement();
+			return;
+		}
+		replace(fresh);
+		syncedFrom = from;
+		lastRebuildAt = started;
+		lastRebuildDuration = Duration.between(started, Instant.now());
+		log.info("Facet index rebuilt: news={}, groups={}, authors={}, took={}ms", fresh.live.cardinality(),
+				fresh.byGroup.size(), fresh.byAuthor.size(), lastRebuildDuration.toMillis());
+	}
+
+	/**
+	 * Puts the news updated since the last sync, minus the overlap, which
+	 * covers transactions that were still open then and clock differences
+	 * between nodes. Retries the build instead while there is no index yet.
+	 */
+	@Scheduled(fixedDelayString = "${news.facets.sync-interval-ms:15000}", initialDelayString = "${news.facets.sync-interval-ms:15000}")
+	public synchronized void sync() {
+		if (!ready) {
+			rebuild();
+			return;
+		}
+		LocalDateTime from = LocalDateTime.now();
+		LocalDateTime since = syncedFrom.minus(syncOverlap);
+		long synced = 0;
+		try {
+			long afterId = 0;
+			while (true) {
+				long after = afterId;
+				List<NewsSnapshot> batch = transactionTemplate.execute(status -> readBatch(
+						newsRepository.findNewsFacetRowsUpdatedSince(since, after, rebuildBatchSize)));
+				apply(index -> batch.forEach(index::put));
+				synced += batch.size();
+				if (batch.size() < rebuildBatchSize) {
+					break;
+				}
+				afterId = batch.get(batch.size() - 1).id();
+			}
+		} catch (RuntimeException e) {
+			log.warn("Facet index sync failed, will retry from {}", since, e);
+			return;
+		}
+		syncedFrom = from;
+		lastSyncAt = Instant.now();
+		if (synced > 0) {
+			log.debug("Facet index synced: news={}", synced);
+		}
+	}
+
+	public Stats stats() {
+		lock.readLock().lock();
+		try {
+			long bitmapBytes = index.live.sizeInBytes() + index.active.sizeInBytes() + index.visible.sizeInBytes();
+			for (OrdinalBitmap bitmap : index.byGroup.values()) {
+				bitmapBytes += bitmap.sizeInBytes();
+			}
+			for (OrdinalBitmap bitmap : index.byAuthor.values()) {
+				bitmapBytes += bitmap.sizeInBytes();
+			}
+			return new Stats(ready, index.live.cardinality(), index.size, index.byGroup.size(),
+					index.byAuthor.size(), bitmapBytes, lastRebuildAt, lastRebuildDuration, lastSyncAt);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Index build() {
+		Index fresh = new Index();
+		long afterId = 0;
+		while (true) {
+			long from = afterId;
+			List<NewsSnapshot> batch = transactionTemplate
+					.execute(status -> readBatch(newsRepository.findNewsFacetRowsAfter(from, rebuildBatchSize)));
+			batch.forEach(fresh::put);
+			if (batch.size() < rebuildBatchSize) {
+				return fresh;
+			}
+			afterId = batch.get(batch.size() - 1).id();
+		}
+	}
+
+	private List<NewsSnapshot> readBatch(List<NewsFacetRow> rows) {
+		Map<Long, List<Long>> authors = newsRepository
+				.findAuthorIdsByNewsIds(rows.stream().map(NewsFacetRow::id).toList());
+		List<NewsSnapshot> snapshots = new ArrayList<>(rows.size());
+		for (NewsFacetRow row : rows) {
+			snapshots.add(new NewsSnapshot(row.id(), row.groupId(), row.activ(), row.visible(),
+					row.publishingDateTime(), row.updateDateTime(), authors.getOrDefault(row.id(), List.of())));
+		}
+		return snapshots;
+	}
+
+	private void apply(Consumer<Index> change) {
+		lock.writeLock().lock();
+		try {
+			change.accept(index);
+			if (pending != null) {
+				pending.add(change);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void beginReplacement() {
+		lock.writeLock().lock();
+		try {
+			pending = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void abandonReplacement() {
+		lock.writeLock().lock();
+		try {
+			pending = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void replace(Index fresh) {
+		lock.writeLock().lock();
+		try {
+			for (Consumer<Index> change : pending) {
+				change.accept(fresh);
+			}
+			pending = null;
+			index = fresh;
+			ready = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public record Selection(List<Long> ids, long total) {
+	}
+
+	public record Stats(boolean ready, int news, int ordinals, int groups, int authors, long bitmapBytes,
+			Instant lastRebuildAt, Duration lastRebuildDuration, Instant lastSyncAt) {
+	}
+
+	/**
+	 * Not thread-safe; guarded by the enclosing lock.
+	 */
+	private static final class Index {
+
+		// ordinals are handed out in arrival order and not reused until the next rebuild
+		final Map<Long, Integer> ordinals = new HashMap<>();
+		long[] ids = new long[1024];
+		long[] sortKeys = new long[1024];
+		long[] versions = new long[1024];
+		Integer[] groups = new Integer[1024];
+		long[][] authors = new long[1024][];
+		int size;
+
+		final OrdinalBitmap live = new OrdinalBitmap();
+		final OrdinalBitmap active = new OrdinalBitmap();
+		final OrdinalBitmap visible = new OrdinalBitmap();
+		final Map<Integer, OrdinalBitmap> byGroup = new HashMap<>();
+		final Map<Long, OrdinalBitmap> byAuthor = new HashMap<>();
+
+		/** Puts the news unless the index already holds a later update of it. */
+		void put(NewsSnapshot news) {
+			Integer ordinal = ordinals.get(news.id());
+			long version = timeKey(news.updateDateTime());
+			if (ordinal != null) {
+				if (version < versions[ordinal]) {
+					return;
+				}
+				clearMembership(ordinal);
+			} else {
+				ordinal = allocate(news.id());
+			}
+			versions[ordinal] = version;
+			sortKeys[ordinal] = timeKey(news.publishingDateTime());
+			live.add(ordinal);
+			if (news.activ()) {
+				active.add(ordinal);
+			}
+			if (news.visible()) {
+				visible.add(ordinal);
+			}
+			Integer groupId = news.groupId();
+			groups[ordinal] = groupId;
+			if (groupId != null) {
+				byGroup.computeIfAbsent(groupId, g -> new OrdinalBitmap()).add(ordinal);
+			}
+			long[] authorArray = authorArray(news.authorIds());
+			authors[ordinal] = authorArray;
+			for (long authorId : authorArray) {
+				byAuthor.computeIfAbsent(authorId, a -> new OrdinalBitmap()).add(ordinal);
+			}
+		}
+
+		/** Whether the index has the news in the given state. */
+		boolean holds(NewsSnapshot news) {
+			Integer ordinal = ordinals.get(news.id());
+			return ordinal != null && active.contains(ordinal) == news.activ()
+					&& visible.contains(ordinal) == news.visible() && Objects.equals(groups[ordinal], news.groupId())
+					&& sortKeys[ordinal] == timeKey(news.publishingDateTime())
+					&& Arrays.equals(authors[ordinal], authorArray(news.authorIds()));
+		}
+
+		void remove(Long id) {
+			Integer ordinal = ordinals.remove(id);
+			if (ordinal != null) {
+				clearMembership(ordinal);
+			}
+		}
+
+		void setVisible(Long id) {
+			Integer ordinal = ordinals.get(id);
+			if (ordinal != null) {
+				visible.add(ordinal);
+			}
+		}
+
+		Selection select(NewsFilter filter, PageCursor cursor, long offset, int limit) {
+			long[] matches = statusMask(filter.status());
+			long[] groupMask = anyOf(byGroup, filter.groupIds());
+			long[] authorMask = anyOf(byAuthor, filter.authorIds());
+			and(matches, groupMask);
+			and(matches, authorMask);
+
+			long total = 0;
+			for (long word : matches) {
+				total += Long.bitCount(word);
+			}
+			if (limit <= 0 || offset >= total) {
+				return new Selection(List.of(), total);
+			}
+
+			// keeps the first offset + limit matches; the head is the one latest in feed order
+			Comparator<Integer> feedOrder = this::compareFeedOrder;
+			int wanted = (int) Math.min(offset + limit, total);
+			PriorityQueue<Integer> first = new PriorityQueue<>(wanted + 1, feedOrder.reversed());
+			long cursorKey = cursor != null ? timeKey(cursor.getTimestamp()) : 0;
+			for (int w = 0; w < matches.length; w++) {
+				for (long word = matches[w]; word != 0; word &= word - 1) {
+					int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+					if (cursor != null && !isAfter(ordinal, cursorKey, cursor.getId())) {
+						continue;
+					}
+					if (first.size() < wanted) {
+						first.add(ordinal);
+					} else if (compareFeedOrder(ordinal, first.peek()) < 0) {
+						first.poll();
+						first.add(ordinal);
+					}
+				}
+			}
+
+			List<Integer> ordered = new ArrayList<>(first);
+			ordered.sort(feedOrder);
+			List<Long> page = new ArrayList<>(limit);
+			for (int i = (int) offset; i < ordered.size(); i++) {
+				page.add(ids[ordered.get(i)]);
+			}
+			return new Selection(page, total);
+		}
+
+		NewsFacets countFacets(NewsFilter filter) {
+			long[] status = statusMask(filter.status());
+			long[] groupMask = anyOf(byGroup, filter.groupIds());
+			long[] authorMask = anyOf(byAuthor, filter.authorIds());
+
+			long[] underAuthors = status.clone();
+			and(underAuthors, authorMask);
+			Map<Integer, Integer> groupCounts = new HashMap<>();
+			for (Map.Entry<Integer, OrdinalBitmap> group : byGroup.entrySet()) {
+				int count = group.getValue().andCardinality(underAuthors);
+				if (count > 0) {
+					groupCounts.put(group.getKey(), count);
+				}
+			}
+
+			long[] underGroups = status.clone();
+			and(underGroups, groupMask);
+			Map<Long, Integer> authorCounts = new HashMap<>();
+			for (Map.Entry<Long, OrdinalBitmap> author : byAuthor.entrySet()) {
+				int count = author.getValue().andCardinality(underGroups);
+				if (count > 0) {
+					authorCounts.put(author.getKey(), count);
+				}
+			}
+
+			// visible implies active, so the four states follow from three intersections
+			long[] selected = new long[words()];
+			live.orInto(selected);
+			and(selected, groupMask);
+			and(selected, authorMask);
+			int all = live.andCardinality(selected);
+			int activeCount = active.andCardinality(selected);
+			int published = visible.andCardinality(selected);
+			Map<NewsStatus, Integer> statusCounts = new EnumMap<>(NewsStatus.class);
+			statusCounts.put(NewsStatus.ALL, all);
+			statusCounts.put(NewsStatus.PUBLISHED, published);
+			statusCounts.put(NewsStatus.SCHEDULED, activeCount - published);
+			statusCounts.put(NewsStatus.INACTIVE, all - activeCount);
+			statusCounts.values().removeIf(count -> count == 0);
+
+			return new NewsFacets(groupCounts, authorCounts, statusCounts);
+		}
+
+		private long[] statusMask(NewsStatus status) {
+			long[] mask = new long[words()];
+			switch (status) {
+			case PUBLISHED -> visible.orInto(mask);
+			case SCHEDULED -> {
+				active.orInto(mask);
+				visible.andNotInto(mask);
+			}
+			case INACTIVE -> {
+				live.orInto(mask);
+				active.andNotInto(mask);
+			}
+			default -> live.orInto(mask);
+			}
+			return mask;
+		}
+
+		/** Union of the chosen bitmaps, or null when nothing is chosen and the facet doesn't narrow. */
+		private <K> long[] anyOf(Map<K, OrdinalBitmap> bitmaps, Set<K> keys) {
+			if (keys.isEmpty()) {
+				return null;
+			}
+			long[] union = new long[words()];
+			for (K key : keys) {
+				OrdinalBitmap bitmap = bitmaps.get(key);
+				if (bitmap != null) {
+					bitmap.orInto(union);
+				}
+			}
+			return union;
+		}
+
+		private static void and(long[] target, long[] mask) {
+			if (mask != null) {
+				for (int i = 0; i < target.length; i++) {
+					target[i] &= mask[i];
+				}
+			}
+		}
+
+		private int words() {
+			return (size + 63) >>> 6;
+		}
+
+		private int allocate(Long id) {
+			if (size == ids.length) {
+				int capacity = size * 2;
+				ids = Arrays.copyOf(ids, capacity);
+				sortKeys = Arrays.copyOf(sortKeys, capacity);
+				versions = Arrays.copyOf(versions, capacity);
+				groups = Arrays.copyOf(groups, capacity);
+				authors = Arrays.copyOf(authors, capacity);
+			}
+			int ordinal = size++;
+			ids[ordinal] = id;
+			ordinals.put(id, ordinal);
+			return ordinal;
+		}
+
+		private void clearMembership(int ordinal) {
+			live.remove(ordinal);
+			active.remove(ordinal);
+			visible.remove(ordinal);
+			Integer groupId = groups[ordinal];
+			if (groupId != null) {
+				removeFrom(byGroup, groupId, ordinal);
+			}
+			for (long authorId : authors[ordinal]) {
+				removeFrom(byAuthor, authorId, ordinal);
+			}
+			groups[ordinal] = null;
+			authors[ordinal] = new long[0];
+		}
+
+		private static <K> void removeFrom(Map<K, OrdinalBitmap> bitmaps, K key, int ordinal) {
+			OrdinalBitmap bitmap = bitmaps.get(key);
+			if (bitmap != null) {
+				bitmap.remove(ordinal);
+				if (bitmap.isEmpty()) {
+					bitmaps.remove(key);
+				}
+			}
+		}
+
+		/** Negative when {@code a} comes first in the feed. */
+		private int compareFeedOrder(int a, int b) {
+			int byTime = Long.compare(sortKeys[b], sortKeys[a]);
+			return byTime != 0 ? byTime : Long.compare(ids[b], ids[a]);
+		}
+
+		private boolean isAfter(int ordinal, long cursorKey, long cursorId) {
+			return sortKeys[ordinal] < cursorKey || (sortKeys[ordinal] == cursorKey && ids[ordinal] < cursorId);
+		}
+
+		private static long[] authorArray(List<Long> authorIds) {
+			return authorIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+		}
+
+		/** A time as a sortable long; null sorts below every time, so undated news come last. */
+		private static long timeKey(LocalDateTime time) {
+			if (time == null) {
+				return Long.MIN_VALUE;
+			}
+			return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+		}
+	}
+}
@@ -0,0 +1,702 @@
+package com.epam.edu.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.ContentStore;
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.NewsText;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsPublishedEvent;
+import com.epam.edu.service.NewsTextChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process full-text index over news title, brief and body, ranked with
+ * BM25. Each term keeps its postings as one byte array of varint-encoded
+ * (news id delta, term frequency) pairs sorted by id. Title and brief terms
+ * weigh three and two body terms.
+ * <p>
+ * The index is node-local. It follows this node's saves, deletes and
+ * scheduled publications after commit, and every sync interval it re-reads
+ * the news whose {@code updated_date} moved since the last sync, so edits,
+ * creates and publications on other nodes show up within about one sync
+ * interval. Deletes on other nodes leave no row to read: such ids are dropped
+ * when a search fails to load them (see {@link #remove}) and are gone for
+ * good after the next rebuild. A node clock running behind the others by
+ * more than the sync overlap can also delay a change until then.
+ * <p>
+ * It is written to the index directory periodically and on shutdown. At
+ * startup the saved copy is loaded, then the index is rebuilt from the
+ * database in the background. Changes that arrive during a load or rebuild
+ * are replayed onto the new index before it is swapped in.
+ */
+@Component
+public class NewsSearchIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(NewsSearchIndex.class);
+
+	private static final int TITLE_WEIGHT = 3;
+	private static final int BRIEF_WEIGHT = 2;
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int FILE_MAGIC = 0x4E534958;
+	private static final int FILE_VERSION = 1;
+
+	private final NewsRepository newsRepository;
+	private final ContentStore contentStore;
+	private final TransactionTemplate transactionTemplate;
+	private final Path file;
+	private final int rebuildBatchSize;
+	private final Duration syncOverlap;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	// both guarded by lock; pending is non-null while a replacement index is being prepared
+	private Index index = new Index();
+	private List<Consumer<Index>> pending;
+
+	private final Object persistMonitor = new Object();
+	private final AtomicBoolean dirty = new AtomicBoolean();
+	private volatile boolean ready;
+	private volatile Instant lastRebuildAt;
+	private volatile Duration lastRebuildDuration;
+	private volatile Instant lastSyncAt;
+	// guarded by this; start of the last successful build or sync, in the clock updated_date is written with
+	private LocalDateTime syncedFrom;
+
+	public NewsSearchIndex(NewsRepository newsRepository, ContentStore contentStore,
+			TransactionTemplate transactionTemplate,
+			@Value("${news.search.index-dir:resources/search}") String indexDir,
+			@Value("${news.search.rebuild-batch-size:200}") int rebuildBatchSize,
+			@Value("${news.search.sync-overlap-ms:60000}") long syncOverlapMillis) {
+		this.newsRepository = newsRepository;
+		this.contentStore = contentStore;
+		this.transactionTemplate = transactionTemplate;
+		this.file = Path.of(indexDir, "news-index.bin");
+		this.rebuildBatchSize = rebuildBatchSize;
+		this.syncOverlap = Duration.ofMillis(syncOverlapMillis);
+	}
+
+	/**
+	 * News ids matching any of the query terms, best first, and the total
+	 * number of matches.
+	 */
+	public SearchHits search(String query, boolean publishedOnly, long offset, int limit) {
+		List<String> terms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+		if (terms.isEmpty() || offset < 0 || limit <= 0) {
+			return new SearchHits(List.of(), 0);
+		}
+		lock.readLock().lock();
+		try {
+			return index.search(terms, publishedOnly, offset, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@TransactionalEventListener
+	public void onNewsTextChanged(NewsTextChangedEvent event) {
+		Map<String, Integer> terms = termFrequencies(event.title(), event.brief(), event.content());
+		apply(index -> index.put(event.newsId(), terms, event.visible()));
+	}
+
+	@TransactionalEventListener
+	public void onNewsChanged(NewsChangedEvent event) {
+		if (event.current() == null && event.previous() != null) {
+			Long id = event.previous().id();
+			apply(index -> index.remove(id));
+		}
+	}
+
+	@EventListener
+	public void onNewsPublished(NewsPublishedEvent event) {
+		apply(index -> index.setVisible(event.newsId(), true));
+	}
+
+	/**
+	 * Drops news that a search returned but the database no longer has,
+	 * i.e. deleted on another node.
+	 */
+	public void remove(Collection<Long> ids) {
+		if (!ids.isEmpty()) {
+			apply(index -> ids.forEach(index::remove));
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		Thread loader = new Thread(() -> {
+			load();
+			rebuild();
+		}, "news-search-rebuild");
+		loader.setDaemon(true);
+		loader.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		persist();
+	}
+
+	@Scheduled(fixedDelayString = "${news.search.rebuild-interval-ms:86400000}", initialDelayString = "${news.search.rebuild-interval-ms:86400000}")
+	public synchronized void rebuild() {
+		Instant started = Instant.now();
+		LocalDateTime from = LocalDateTime.now();
+		beginReplacement();
+		Index fresh;
+		try {
+			fresh = build();
+		} catch (RuntimeException e) {
+			log.error("Search index rebuild failed", e);
+			abandonReplacement();
+			return;
+		}
+		replace(fresh);
+		syncedFrom = from;
+		lastRebuildAt = started;
+		lastRebuildDuration = Duration.between(started, Instant.now());
+		dirty.set(true);
+		persist();
+		log.info("Search index rebuilt: documents={}, terms={}, took={}ms", fresh.docs.size(), fresh.postings.size(),
+				lastRebuildDuration.toMillis());
+	}
+
+	/**
+	 * Re-indexes the news updated since the last sync, minus the overlap,
+	 * which covers transactions that were still open then and clock
+	 * differences between nodes. Does nothing until the first rebuild.
+	 */
+	@Scheduled(fixedDelayString = "${news.search.sync-interval-ms:30000}", initialDelayString = "${news.search.sync-interval-ms:30000}")
+	public synchronized void sync() {
+		if (syncedFrom == null) {
+			return;
+		}
+		LocalDateTime from = LocalDateTime.now();
+		LocalDateTime since = syncedFrom.minus(syncOverlap);
+		long synced = 0;
+		try {
+			long afterId = 0;
+			while (true) {
+				long after = afterId;
+				List<NewsText> batch = transactionTemplate
+						.execute(status -> newsRepository.findNewsTextsUpdatedSince(since, after, rebuildBatchSize));
+				for (NewsText news : batch) {
+					Map<String, Integer> terms = termFrequencies(news.title(), news.brief(), readContent(news));
+					apply(index -> index.put(news.id(), terms, news.visible()));
+				}
+				synced += batch.size();
+				if (batch.size() < rebuildBatchSize) {
+					break;
+				}
+				afterId = batch.get(batch.size() - 1).id();
+			}
+		} catch (RuntimeException e) {
+			log.warn("Search index sync failed, will retry from {}", since, e);
+			return;
+		}
+		syncedFrom = from;
+		lastSyncAt = Instant.now();
+		if (synced > 0) {
+			log.debug("Search index synced: news={}", synced);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${news.search.persist-interval-ms:300000}", initialDelayString = "${news.search.persist-interval-ms:300000}")
+	public void persist() {
+		// an index that was never loaded or built must not overwrite the saved one
+		if (!ready || !dirty.getAndSet(false)) {
+			return;
+		}
+		// not synchronized on this: shutdown shouldn't wait for a running rebuild
+		synchronized (persistMonitor) {
+			Index copy;
+			lock.readLock().lock();
+			try {
+				copy = index.copy();
+			} finally {
+				lock.readLock().unlock();
+			}
+			// written outside the lock, so saves and deletes don't wait for the disk
+			Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+			try {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+				try (DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(temp)))) {
+					copy.writeTo(out);
+				}
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				dirty.set(true);
+				log.error("Failed to save search index to {}", file, e);
+			}
+		}
+	}
+
+	public Stats stats() {
+		lock.readLock().lock();
+		try {
+			long postingBytes = 0;
+			for (byte[] list : index.postings.values()) {
+				postingBytes += list.length;
+			}
+			return new Stats(ready, index.docs.size(), index.postings.size(), postingBytes, lastRebuildAt,
+					lastRebuildDuration, lastSyncAt);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void load() {
+		if (!Files.exists(file)) {
+			return;
+		}
+		beginReplacement();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			Index loaded = Index.readFrom(in);
+			replace(loaded);
+			log.info("Search index loaded from {}: documents={}", file, loaded.docs.size());
+		} catch (IOException | RuntimeException e) {
+			log.warn("Ignoring unreadable search index {}: {}", file, e.toString());
+			abandonReplacement();
+		}
+	}
+
+	private Index build() {
+		IndexBuilder builder = new IndexBuilder();
+		long afterId = 0;
+		while (true) {
+			long from = afterId;
+			List<NewsText> batch = transactionTemplate
+					.execute(status -> newsRepository.findNewsTextsAfter(from, rebuildBatchSize));
+			for (NewsText news : batch) {
+				builder.add(news.id(), termFrequencies(news.title(), news.brief(), readContent(news)), news.visible());
+			}
+			if (batch.size() < rebuildBatchSize) {
+				return builder.build();
+			}
+			afterId = batch.get(batch.size() - 1).id();
+		}
+	}
+
+	private String readContent(NewsText news) {
+		if (news.contentPath() == null) {
+			return null;
+		}
+		try {
+			return contentStore.read(news.contentPath());
+		} catch (RuntimeException e) {
+			log.warn("Indexing news without its body, content unreadable: newsId={}", news.id());
+			return null;
+		}
+	}
+
+	private void apply(Consumer<Index> change) {
+		lock.writeLock().lock();
+		try {
+			change.accept(index);
+			if (pending != null) {
+				pending.add(change);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+		dirty.set(true);
+	}
+
+	private void beginReplacement() {
+		lock.writeLock().lock();
+		try {
+			pending = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void abandonReplacement() {
+		lock.writeLock().lock();
+		try {
+			pending = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void replace(Index fresh) {
+		lock.writeLock().lock();
+		try {
+			for (Consumer<Index> change : pending) {
+				change.accept(fresh);
+			}
+			pending = null;
+			index = fresh;
+			ready = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static Map<String, Integer> termFrequencies(String title, String brief, String content) {
+		Map<String, Integer> terms = new HashMap<>();
+		for (String term : SearchTokenizer.tokenize(title)) {
+			terms.merge(term, TITLE_WEIGHT, Integer::sum);
+		}
+		for (String term : SearchTokenizer.tokenize(brief)) {
+			terms.merge(term, BRIEF_WEIGHT, Integer::sum);
+		}
+		for (String term : SearchTokenizer.tokenize(content)) {
+			terms.merge(term, 1, Integer::sum);
+		}
+		return terms;
+	}
+
+	public record SearchHits(List<Long> ids, long total) {
+	}
+
+	public record Stats(boolean ready, int documents, int terms, long postingBytes, Instant lastRebuildAt,
+			Duration lastRebuildDuration, Instant lastSyncAt) {
+	}
+
+	private record Doc(int length, boolean visible, String[] terms) {
+	}
+
+	/**
+	 * Not thread-safe; guarded by the enclosing lock. Posting lists and docs
+	 * are replaced, never modified in place, so a copy of the two maps is a
+	 * consistent snapshot.
+	 */
+	private static final class Index {
+
+		final Map<String, byte[]> postings;
+		final Map<Long, Doc> docs;
+		long totalLength;
+
+		Index() {
+			this(new HashMap<>(), new HashMap<>());
+		}
+
+		Index(Map<String, byte[]> postings, Map<Long, Doc> docs) {
+			this.postings = postings;
+			this.docs = docs;
+			for (Doc doc : docs.values()) {
+				totalLength += doc.length();
+			}
+		}
+
+		Index copy() {
+			return new Index(new HashMap<>(postings), new HashMap<>(docs));
+		}
+
+		void put(Long id, Map<String, Integer> terms, boolean visible) {
+			remove(id);
+			int length = 0;
+			for (Map.Entry<String, Integer> term : terms.entrySet()) {
+				postings.put(term.getKey(), Postings.insert(postings.get(term.getKey()), id, term.getValue()));
+				length += term.getValue();
+			}
+			docs.put(id, new Doc(length, visible, terms.keySet().toArray(String[]::new)));
+			totalLength += length;
+		}
+
+		void remove(Long id) {
+			Doc doc = docs.remove(id);
+			if (doc == null) {
+				return;
+			}
+			for (String term : doc.terms()) {
+				byte[] list = Postings.delete(postings.get(term), id);
+				if (list == null) {
+					postings.remove(term);
+				} else {
+					postings.put(term, list);
+				}
+			}
+			totalLength -= doc.length();
+		}
+
+		void setVisible(Long id, boolean visible) {
+			docs.computeIfPresent(id, (key, doc) -> new Doc(doc.length(), visible, doc.terms()));
+		}
+
+		SearchHits search(List<String> terms, boolean publishedOnly, long offset, int limit) {
+			if (docs.isEmpty()) {
+				return new SearchHits(List.of(), 0);
+			}
+			double averageLength = Math.max(1.0, (double) totalLength / docs.size());
+			Map<Long, Double> scores = new HashMap<>();
+			for (String term : terms) {
+				byte[] list = postings.get(term);
+				if (list == null) {
+					continue;
+				}
+				PostingReader reader = new PostingReader(list);
+				double idf = Math.log(1 + (docs.size() - reader.count() + 0.5) / (reader.count() + 0.5));
+				while (reader.next()) {
+					Doc doc = docs.get(reader.id());
+					if (doc == null || (publishedOnly && !doc.visible())) {
+						continue;
+					}
+					double tf = reader.frequency();
+					double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length() / averageLength));
+					scores.merge(reader.id(), score, Double::sum);
+				}
+			}
+
+			Comparator<Map.Entry<Long, Double>> bestFirst = Map.Entry.<Long, Double>comparingByValue().reversed()
+					.thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+			// keep only the entries up to the requested page instead of sorting every match
+			long wanted = offset + limit;
+			PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(bestFirst.reversed());
+			for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+				top.add(entry);
+				if (top.size() > wanted) {
+					top.poll();
+				}
+			}
+			List<Map.Entry<Long, Double>> best = new ArrayList<>(top);
+			best.sort(bestFirst);
+			List<Long> ids = best.stream().skip(offset).map(Map.Entry::getKey).toList();
+			return new SearchHits(ids, scores.size());
+		}
+
+		void writeTo(DataOutputStream out) throws IOException {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			Map<String, Integer> ordinals = new HashMap<>(postings.size() * 2);
+			out.writeInt(postings.size());
+			for (Map.Entry<String, byte[]> term : postings.entrySet()) {
+				ordinals.put(term.getKey(), ordinals.size());
+				out.writeUTF(term.getKey());
+				out.writeInt(term.getValue().length);
+				out.write(term.getValue());
+			}
+			out.writeInt(docs.size());
+			for (Map.Entry<Long, Doc> entry : docs.entrySet()) {
+				Doc doc = entry.getValue();
+				out.writeLong(entry.getKey());
+				out.writeInt(doc.length());
+				out.writeBoolean(doc.visible());
+				out.writeInt(doc.terms().length);
+				for (String term : doc.terms()) {
+					out.writeInt(ordinals.get(term));
+				}
+			}
+		}
+
+		static Index readFrom(DataInputStream in) throws IOException {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				throw new IOException("unknown format");
+			}
+			int termCount = in.readInt();
+			String[] terms = new String[termCount];
+			Map<String, byte[]> postings = new HashMap<>(termCount * 2);
+			for (int i = 0; i < termCount; i++) {
+				terms[i] = in.readUTF();
+				byte[] list = new byte[in.readInt()];
+				in.readFully(list);
+				postings.put(terms[i], list);
+			}
+			int docCount = in.readInt();
+			Map<Long, Doc> docs = new HashMap<>(docCount * 2);
+			for (int i = 0; i < docCount; i++) {
+				long id = in.readLong();
+				int length = in.readInt();
+				boolean visible = in.readBoolean();
+				String[] docTerms = new String[in.readInt()];
+				for (int j = 0; j < docTerms.length; j++) {
+					docTerms[j] = terms[in.readInt()];
+				}
+				docs.put(id, new Doc(length, visible, docTerms));
+			}
+			return new Index(postings, docs);
+		}
+	}
+
+	/**
+	 * Builds an index from documents added in increasing id order, appending
+	 * to each posting list instead of re-encoding it.
+	 */
+	private static final class IndexBuilder {
+
+		private final Map<String, PostingWriter> writers = new HashMap<>();
+		private final Map<Long, Doc> docs = new HashMap<>();
+
+		void add(Long id, Map<String, Integer> terms, boolean visible) {
+			int length = 0;
+			for (Map.Entry<String, Integer> term : terms.entrySet()) {
+				writers.computeIfAbsent(term.getKey(), key -> new PostingWriter()).add(id, term.getValue());
+				length += term.getValue();
+			}
+			docs.put(id, new Doc(length, visible, terms.keySet().toArray(String[]::new)));
+		}
+
+		Index build() {
+			Map<String, byte[]> postings = new HashMap<>(writers.size() * 2);
+			writers.forEach((term, writer) -> postings.put(term, writer.toByteArray()));
+			return new Index(postings, docs);
+		}
+	}
+
+	/**
+	 * Posting list encoding: varint count, then per entry varint(id - previous
+	 * id) and varint(frequency).
+	 */
+	static final class Postings {
+
+		static byte[] insert(byte[] list, long id, int frequency) {
+			PostingWriter writer = new PostingWriter();
+			boolean inserted = false;
+			if (list != null) {
+				PostingReader reader = new PostingReader(list);
+				while (reader.next()) {
+					if (!inserted && reader.id() >= id) {
+						writer.add(id, frequency);
+						inserted = true;
+					}
+					if (reader.id() != id) {
+						writer.add(reader.id(), reader.frequency());
+					}
+				}
+			}
+			if (!inserted) {
+				writer.add(id, frequency);
+			}
+			return writer.toByteArray();
+		}
+
+		static byte[] delete(byte[] list, long id) {
+			if (list == null) {
+				return null;
+			}
+			PostingWriter writer = new PostingWriter();
+			PostingReader reader = new PostingReader(list);
+			while (reader.next()) {
+				if (reader.id() != id) {
+					writer.add(reader.id(), reader.frequency());
+				}
+			}
+			return writer.count == 0 ? null : writer.toByteArray();
+		}
+	}
+
+	static final class PostingWriter {
+
+		private byte[] buffer = new byte[16];
+		private int size;
+		private int count;
+		private long previousId;
+
+		void add(long id, int frequency) {
+			write(id - previousId);
+			write(frequency);
+			previousId = id;
+			count++;
+		}
+
+		byte[] toByteArray() {
+			byte[] header = new byte[5];
+			int headerSize = 0;
+			int value = count;
+			while ((value & ~0x7F) != 0) {
+				header[headerSize++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			header[headerSize++] = (byte) value;
+			byte[] list = new byte[headerSize + size];
+			System.arraycopy(header, 0, list, 0, headerSize);
+			System.arraycopy(buffer, 0, list, headerSize, size);
+			return list;
+		}
+
+		private void write(long value) {
+			if (size + 10 > buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			while ((value & ~0x7FL) != 0) {
+				buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[size++] = (byte) value;
+		}
+	}
+
+	static final class PostingReader {
+
+		private final byte[] list;
+		private final int count;
+		private int position;
+		private int remaining;
+		private long id;
+		private int frequency;
+
+		PostingReader(byte[] list) {
+			this.list = list;
+			this.count = (int) read();
+			this.remaining = count;
+		}
+
+		int count() {
+			return count;
+		}
+
+		boolean next() {
+			if (remaining == 0) {
+				return false;
+			}
+			id += read();
+			frequency = (int) read();
+			remaining--;
+			return true;
+		}
+
+		long id() {
+			return id;
+		}
+
+		int frequency() {
+			return frequency;
+		}
+
+		private long read() {
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = list[position++];
+				value |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			return value;
+		}
+	}
+}
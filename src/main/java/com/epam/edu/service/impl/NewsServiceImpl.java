@@ -1,20 +1,41 @@
 package com.epam.edu.service.impl;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.epam.edu.dao.ContentStore;
+import com.epam.edu.dao.ContentStream;
 import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.UserRepository;
+import com.epam.edu.dao.UserSummary;
 import com.epam.edu.entity.News;
 import com.epam.edu.entity.NewsGroup;
+import com.epam.edu.entity.NewsStatus;
+import com.epam.edu.entity.User;
 import com.epam.edu.entity.UserRole;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsFacets;
+import com.epam.edu.service.NewsFilter;
+import com.epam.edu.service.NewsGroupSnapshot;
 import com.epam.edu.service.NewsService;
+import com.epam.edu.service.NewsSnapshot;
+import com.epam.edu.service.NewsTextChangedEvent;
+import com.epam.edu.service.PageCursor;
 import com.epam.edu.service.PagedResult;
+import com.epam.edu.service.ReferenceDataService;
+import com.epam.edu.service.ServiceException;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,53 +43,212 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NewsServiceImpl implements NewsService {
 
+	// how many times a feed page is selected from the facet index before falling back to the database
+	private static final int MAX_INDEX_REPAIRS = 3;
+
 	private final NewsRepository newsRepository;
+	private final ContentStore contentStore;
+	private final NewsFacetIndex facetIndex;
+	private final UserRepository userRepository;
+	private final ReferenceDataService referenceData;
+	private final NewsSearchIndex searchIndex;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Override
 	@Transactional
 	public News saveNews(News news) {
-		String filePath = saveContentToFile(news.getContent());
-		news.setContentPath(filePath);
+		NewsSnapshot previous = news.getId() != null
+				? newsRepository.findById(news.getId()).map(NewsSnapshot::of).orElse(null)
+				: null;
+		news.setContentPath(contentStore.save(news.getContent()));
 		LocalDateTime now = LocalDateTime.now();
 		if (news.getId() == null) {
 			news.setCreateDateTime(now);
 		}
 		news.setUpdateDateTime(now);
-		return newsRepository.save(news);
+		news.setVisible(news.isActiv()
+				&& (news.getPublishingDateTime() == null || !news.getPublishingDateTime().isAfter(now)));
+		News saved = newsRepository.save(news);
+		eventPublisher.publishEvent(new NewsChangedEvent(previous, NewsSnapshot.of(saved)));
+		eventPublisher.publishEvent(new NewsTextChangedEvent(saved.getId(), saved.getTitle(), saved.getBrief(),
+				news.getContent(), saved.isVisible(),
+				saved.getPublishingDateTime() != null ? saved.getPublishingDateTime() : saved.getCreateDateTime()));
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public News saveNews(News news, Integer newsGroupId, List<Long> authorIds) {
+		NewsGroupSnapshot group = referenceData.findNewsGroup(newsGroupId)
+				.orElseThrow(() -> new ServiceException("Группа новостей не найдена: " + newsGroupId));
+		news.setNewsGroup(newsRepository.getNewsGroupReference(group.id()));
+
+		List<User> authors = new ArrayList<>();
+		if (authorIds != null) {
+			Set<Long> requested = new LinkedHashSet<>(authorIds);
+			Set<Long> known = new HashSet<>();
+			for (UserSummary author : referenceData.findAuthorsByIds(requested)) {
+				known.add(author.getId());
+			}
+			if (known.size() < requested.size()) {
+				// promoted since the last refresh, possibly on another node
+				List<Long> missing = requested.stream().filter(id -> !known.contains(id)).toList();
+				known.addAll(userRepository.findAuthorIds(missing));
+			}
+			List<Long> unknown = requested.stream().filter(id -> !known.contains(id)).toList();
+			if (!unknown.isEmpty()) {
+				throw new ServiceException("Авторы не найдены: " + unknown);
+			}
+			for (Long id : requested) {
+				authors.add(userRepository.getReference(id));
+			}
+		}
+		news.setAuthors(authors);
+		return saveNews(news);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public News getNewsById(Long id) {
+		return newsRepository.findById(id).orElse(null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public News getNewsWithContent(Long id) {
 		return newsRepository.findById(id).map(n -> {
 			if (n.getContentPath() != null) {
-				try {
-					n.setContent(Files.readString(Path.of(n.getContentPath())));
-				} catch (IOException e) {
-					throw new RuntimeException(e);
-				}
+				n.setContent(contentStore.read(n.getContentPath()));
 			}
 			return n;
 		}).orElse(null);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public News getNewsForReading(Long id, UserRole userRole, long maxInlineBytes) {
+		News news = newsRepository.findById(id).orElse(null);
+		if (news == null || (userRole != UserRole.ADMIN && !news.isVisible())) {
+			return null;
+		}
+		if (news.getContentPath() != null) {
+			try (ContentStream content = contentStore.open(news.getContentPath())) {
+				if (content.length() <= maxInlineBytes) {
+					ByteArrayOutputStream text = new ByteArrayOutputStream((int) content.length());
+					content.transferTo(text, 0, content.length());
+					news.setContent(text.toString(StandardCharsets.UTF_8));
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return news;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ContentStream openNewsContent(Long id, UserRole userRole) {
+		News news = newsRepository.findById(id).orElse(null);
+		if (news == null || news.getContentPath() == null || (userRole != UserRole.ADMIN && !news.isVisible())) {
+			return null;
+		}
+		return contentStore.open(news.getContentPath());
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public PagedResult<News> getNewsForPage(int page, int size, UserRole userRole, Integer newsGroupId) {
+		return getNewsForPage(page, size, userRole, newsGroupId, null);
+	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public PagedResult<News> getNewsForPage(int page, int size, UserRole userRole, Integer newsGroupId,
+			String after) {
+		return getNewsForPage(page, size, userRole, NewsFilter.ofGroup(newsGroupId), after);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PagedResult<News> getNewsForPage(int page, int size, UserRole userRole, NewsFilter filter,
+			String after) {
+
+		int pageSize = validatePageSize(size);
+		int currentPage = Math.max(page, 0);
+		NewsFilter effective = effectiveFilter(userRole, filter);
+		PageCursor cursor = PageCursor.decode(after).orElse(null);
+
+		if (facetIndex.isReady()) {
+			for (int attempt = 0; attempt < MAX_INDEX_REPAIRS; attempt++) {
+				NewsFacetIndex.Selection selection = facetIndex.select(effective, cursor,
+						(long) currentPage * pageSize, pageSize);
+				List<News> content = newsRepository.findAllWithDetailsByIds(selection.ids());
+				if (!facetIndex.repair(selection.ids(), content)) {
+					return toPage(content, selection.ids().size(), currentPage, pageSize, selection.total());
+				}
+			}
+		}
+
+		// index still building, or it keeps disagreeing with what this transaction reads
+		List<Long> ids = cursor != null
+				? newsRepository.findFilteredNewsIdsAfter(effective.groupIds(), effective.authorIds(),
+						effective.status(), cursor.getTimestamp(), cursor.getId(), pageSize)
+				: newsRepository.findFilteredNewsIds(effective.groupIds(), effective.authorIds(), effective.status(),
+						currentPage, pageSize);
+		long total = newsRepository.countFilteredNews(effective.groupIds(), effective.authorIds(), effective.status());
+		return toPage(newsRepository.findAllWithDetailsByIds(ids), ids.size(), currentPage, pageSize, total);
+	}
+
+	@Override
+	public NewsFacets countFacets(UserRole userRole, NewsFilter filter) {
+		return facetIndex.isReady() ? facetIndex.countFacets(effectiveFilter(userRole, filter)) : null;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PagedResult<News> searchNews(String query, int page, int size, UserRole userRole) {
 		int pageSize = validatePageSize(size);
+		int currentPage = Math.max(page, 0);
 		boolean onlyPublished = (userRole != UserRole.ADMIN);
-		long total = newsRepository.countFilteredNews(newsGroupId, null, onlyPublished);
-		
-		List<News> content = newsRepository.findFilteredNews(newsGroupId, null, onlyPublished, page, pageSize);
 
-		return new PagedResult<>(content, page, pageSize, total);
+		NewsSearchIndex.SearchHits hits = searchIndex.search(query, onlyPublished, (long) currentPage * pageSize,
+				pageSize);
+		List<News> content = newsRepository.findAllWithDetailsByIds(hits.ids());
+		if (content.size() < hits.ids().size()) {
+			Set<Long> loaded = new HashSet<>();
+			content.forEach(news -> loaded.add(news.getId()));
+			searchIndex.remove(hits.ids().stream().filter(id -> !loaded.contains(id)).toList());
+		}
+		if (onlyPublished) {
+			// the index learns about an unpublish only after commit
+			content.removeIf(news -> !news.isVisible());
+		}
+		return new PagedResult<>(content, currentPage, pageSize, hits.total());
 	}
 
 	@Transactional
 	@Override
 	public boolean deleteNews(Long id) {
-		return newsRepository.deleteById(id);
+		NewsSnapshot previous = newsRepository.findById(id).map(NewsSnapshot::of).orElse(null);
+		boolean deleted = newsRepository.deleteById(id);
+		if (deleted) {
+			eventPublisher.publishEvent(new NewsChangedEvent(previous, null));
+		}
+		return deleted;
+	}
+
+	private NewsFilter effectiveFilter(UserRole userRole, NewsFilter filter) {
+		NewsFilter requested = filter != null ? filter : NewsFilter.ofGroup(null);
+		return userRole == UserRole.ADMIN ? requested : requested.withStatus(NewsStatus.PUBLISHED);
+	}
+
+	private PagedResult<News> toPage(List<News> content, int selected, int currentPage, int pageSize, long total) {
+		PagedResult<News> result = new PagedResult<>(content, currentPage, pageSize, total);
+		if (selected == pageSize && !content.isEmpty()) {
+			News last = content.get(content.size() - 1);
+			result.setNextCursor(PageCursor.of(last.getPublishingDateTime(), last.getId()).encode());
+		}
+		return result;
 	}
 
 	private int validatePageSize(int size) {
@@ -90,16 +270,4 @@ public class NewsServiceImpl implements NewsService {
 	public NewsGroup findNewsGroupById(Long newsGroupId) {
 		return newsRepository.findNewsGroupById(newsGroupId);
 	}
-
-	private String saveContentToFile(String text) {
-		try {
-			Path dir = Path.of("resources/news/content");
-			Files.createDirectories(dir);
-			Path file = dir.resolve("news_" + System.currentTimeMillis() + ".txt");
-			Files.writeString(file, text);
-			return file.toString();
-		} catch (IOException e) {
-			throw new RuntimeException(e);
-		}
-	}
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.epam.edu.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Mutable set of non-negative ints for {@link NewsFacetIndex}. A small set is
+ * a sorted int array; once that would outweigh a plain bitset over the
+ * ordinals it covers (4 bytes per member against 1 bit per ordinal), it turns
+ * into {@code long} words. Queries combine sets into a word array of the
+ * caller's size with {@link #orInto}, {@link #andNotInto} and
+ * {@link #andCardinality}. Not thread-safe.
+ */
+final class OrdinalBitmap {
+
+	private static final int MIN_DENSE_CARDINALITY = 64;
+
+	private int[] values = new int[4];
+	private long[] words;
+	private int cardinality;
+
+	void add(int ordinal) {
+		if (words != null) {
+			int word = ordinal >>> 6;
+			if (word >= words.length) {
+				words = Arrays.copyOf(words, Math.max(word + 1, words.length * 3 / 2));
+			}
+			if ((words[word] & (1L << ordinal)) == 0) {
+				words[word] |= 1L << ordinal;
+				cardinality++;
+			}
+			return;
+		}
+		int position = Arrays.binarySearch(values, 0, cardinality, ordinal);
+		if (position >= 0) {
+			return;
+		}
+		position = -position - 1;
+		if (cardinality == values.length) {
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+		System.arraycopy(values, position, values, position + 1, cardinality - position);
+		values[position] = ordinal;
+		cardinality++;
+		if (cardinality >= MIN_DENSE_CARDINALITY && (long) cardinality * 32 > values[cardinality - 1] + 1L) {
+			toWords();
+		}
+	}
+
+	void remove(int ordinal) {
+		if (words != null) {
+			int word = ordinal >>> 6;
+			if (word < words.length && (words[word] & (1L << ordinal)) != 0) {
+				words[word] &= ~(1L << ordinal);
+				cardinality--;
+			}
+			return;
+		}
+		int position = Arrays.binarySearch(values, 0, cardinality, ordinal);
+		if (position >= 0) {
+			System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+			cardinality--;
+		}
+	}
+
+	boolean contains(int ordinal) {
+		if (words != null) {
+			int word = ordinal >>> 6;
+			return word < words.length && (words[word] & (1L << ordinal)) != 0;
+		}
+		return Arrays.binarySearch(values, 0, cardinality, ordinal) >= 0;
+	}
+
+	int cardinality() {
+		return cardinality;
+	}
+
+	boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	/** {@code target |= this} */
+	void orInto(long[] target) {
+		if (words != null) {
+			for (int i = 0, n = Math.min(words.length, target.length); i < n; i++) {
+				target[i] |= words[i];
+			}
+			return;
+		}
+		for (int i = 0; i < cardinality; i++) {
+			int ordinal = values[i];
+			if ((ordinal >>> 6) >= target.length) {
+				break;
+			}
+			target[ordinal >>> 6] |= 1L << ordinal;
+		}
+	}
+
+	/** {@code target &= ~this} */
+	void andNotInto(long[] target) {
+		if (words != null) {
+			for (int i = 0, n = Math.min(words.length, target.length); i < n; i++) {
+				target[i] &= ~words[i];
+			}
+			return;
+		}
+		for (int i = 0; i < cardinality; i++) {
+			int ordinal = values[i];
+			if ((ordinal >>> 6) >= target.length) {
+				break;
+			}
+			target[ordinal >>> 6] &= ~(1L << ordinal);
+		}
+	}
+
+	/** Size of {@code this & other} without materializing it. */
+	int andCardinality(long[] other) {
+		int count = 0;
+		if (words != null) {
+			for (int i = 0, n = Math.min(words.length, other.length); i < n; i++) {
+				count += Long.bitCount(words[i] & other[i]);
+			}
+			return count;
+		}
+		for (int i = 0; i < cardinality; i++) {
+			int ordinal = values[i];
+			if ((ordinal >>> 6) >= other.length) {
+				break;
+			}
+			if ((other[ordinal >>> 6] & (1L << ordinal)) != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	long sizeInBytes() {
+		return words != null ? words.length * 8L : values.length * 4L;
+	}
+
+	private void toWords() {
+		long[] dense = new long[(values[cardinality - 1] >>> 6) + 1];
+		for (int i = 0; i < cardinality; i++) {
+			dense[values[i] >>> 6] |= 1L << values[i];
+		}
+		words = dense;
+		values = null;
+	}
+}
@@ -0,0 +1,274 @@
+package com.epam.edu.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable prefix index for typeahead. Every word start of every normalized
+ * text is a key; keys are kept as (entry, offset) pairs in one sorted array
+ * rather than as strings of their own. A prefix selects a contiguous range
+ * of keys, and segment trees over the key ranks (one counting every entry,
+ * one only visible entries) hand out the highest ranked entries of the range
+ * in O(k log n), however many keys match.
+ */
+final class PrefixIndex {
+
+	static final PrefixIndex EMPTY = new PrefixIndex(List.of());
+
+	static final int MAX_PREFIX_LENGTH = 64;
+
+	private final Entry[] entries;
+	private final String[] texts;
+	private final int[] keyEntry;
+	private final int[] keyOffset;
+	private final int[] allTree;
+	private final int[] visibleTree;
+
+	/**
+	 * @param entries sorted by id
+	 */
+	PrefixIndex(List<Entry> entries) {
+		this.entries = entries.toArray(Entry[]::new);
+		this.texts = new String[this.entries.length];
+
+		List<Long> keys = new ArrayList<>();
+		for (int e = 0; e < this.entries.length; e++) {
+			texts[e] = normalize(this.entries[e].text());
+			for (int offset : wordStarts(texts[e])) {
+				keys.add((long) e << 32 | offset);
+			}
+		}
+		keys.sort(this::compareKeys);
+
+		keyEntry = new int[keys.size()];
+		keyOffset = new int[keys.size()];
+		for (int k = 0; k < keys.size(); k++) {
+			keyEntry[k] = (int) (keys.get(k) >>> 32);
+			keyOffset[k] = (int) (long) keys.get(k);
+		}
+		allTree = buildTree(false);
+		visibleTree = buildTree(true);
+	}
+
+	int size() {
+		return entries.length;
+	}
+
+	int keyCount() {
+		return keyEntry.length;
+	}
+
+	Entry findById(long id) {
+		int lo = 0;
+		int hi = entries.length - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			long midId = entries[mid].id();
+			if (midId < id) {
+				lo = mid + 1;
+			} else if (midId > id) {
+				hi = mid - 1;
+			} else {
+				return entries[mid];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds up to {@code limit} distinct entries with a word starting with the
+	 * normalized {@code prefix} to {@code out}, highest rank first, skipping
+	 * entries whose id is {@code excluded}.
+	 */
+	void collect(String prefix, boolean visibleOnly, int limit, LongPredicate excluded, List<Entry> out) {
+		int from = lowerBound(prefix);
+		int to = upperBound(prefix, from);
+		if (from >= to) {
+			return;
+		}
+		int[] tree = visibleOnly ? visibleTree : allTree;
+		// each candidate is {key, range from, range to}: the best key of a range not yet handed out
+		PriorityQueue<int[]> candidates = new PriorityQueue<>(
+				(a, b) -> compareRank(b[0], a[0], visibleOnly));
+		candidates.add(new int[] { best(tree, from, to, visibleOnly), from, to });
+		List<Integer> takenEntries = new ArrayList<>();
+		int added = 0;
+		while (added < limit && !candidates.isEmpty()) {
+			int[] candidate = candidates.poll();
+			int key = candidate[0];
+			Entry entry = entries[keyEntry[key]];
+			if (visibleOnly && !entry.visible()) {
+				break;
+			}
+			if (!takenEntries.contains(keyEntry[key]) && !excluded.test(entry.id())) {
+				takenEntries.add(keyEntry[key]);
+				out.add(entry);
+				added++;
+			}
+			if (candidate[1] < key) {
+				candidates.add(new int[] { best(tree, candidate[1], key, visibleOnly), candidate[1], key });
+			}
+			if (key + 1 < candidate[2]) {
+				candidates.add(new int[] { best(tree, key + 1, candidate[2], visibleOnly), key + 1, candidate[2] });
+			}
+		}
+	}
+
+	/** True if a word of the already normalized {@code text} starts with {@code prefix}. */
+	static boolean matches(String text, String prefix) {
+		for (int offset : wordStarts(text)) {
+			if (text.startsWith(prefix, offset)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Lower case, "ё" as "е", anything but letters and digits as single
+	 * spaces, at most {@link #MAX_PREFIX_LENGTH} characters per word start.
+	 */
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				char lower = Character.toLowerCase(c);
+				normalized.append(lower == 'ё' ? 'е' : lower);
+			} else if (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ') {
+				normalized.append(' ');
+			}
+		}
+		int end = normalized.length();
+		if (end > 0 && normalized.charAt(end - 1) == ' ') {
+			end--;
+		}
+		return normalized.substring(0, end);
+	}
+
+	private static int[] wordStarts(String text) {
+		int[] starts = new int[text.length()];
+		int count = 0;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) != ' ' && (i == 0 || text.charAt(i - 1) == ' ')) {
+				starts[count++] = i;
+			}
+		}
+		return Arrays.copyOf(starts, count);
+	}
+
+	private int compareKeys(long a, long b) {
+		String textA = texts[(int) (a >>> 32)];
+		String textB = texts[(int) (b >>> 32)];
+		int offsetA = (int) a;
+		int offsetB = (int) b;
+		int length = Math.min(Math.min(textA.length() - offsetA, textB.length() - offsetB), MAX_PREFIX_LENGTH);
+		for (int i = 0; i < length; i++) {
+			int diff = textA.charAt(offsetA + i) - textB.charAt(offsetB + i);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return Integer.compare(Math.min(textA.length() - offsetA, MAX_PREFIX_LENGTH),
+				Math.min(textB.length() - offsetB, MAX_PREFIX_LENGTH));
+	}
+
+	// first key not below the prefix
+	private int lowerBound(String prefix) {
+		int lo = 0;
+		int hi = keyEntry.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compareToPrefix(mid, prefix) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	// first key from lowerBound on that does not start with the prefix
+	private int upperBound(String prefix, int from) {
+		int lo = from;
+		int hi = keyEntry.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (texts[keyEntry[mid]].startsWith(prefix, keyOffset[mid])) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	private int compareToPrefix(int key, String prefix) {
+		String text = texts[keyEntry[key]];
+		int offset = keyOffset[key];
+		int length = Math.min(text.length() - offset, prefix.length());
+		for (int i = 0; i < length; i++) {
+			int diff = text.charAt(offset + i) - prefix.charAt(i);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return length < prefix.length() ? -1 : 0;
+	}
+
+	private int[] buildTree(boolean visibleOnly) {
+		int n = keyEntry.length;
+		int[] tree = new int[2 * n];
+		for (int k = 0; k < n; k++) {
+			tree[n + k] = k;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			tree[i] = better(tree[2 * i], tree[2 * i + 1], visibleOnly);
+		}
+		return tree;
+	}
+
+	// key with the highest rank in [from, to)
+	private int best(int[] tree, int from, int to, boolean visibleOnly) {
+		int n = keyEntry.length;
+		int best = -1;
+		for (int lo = from + n, hi = to + n; lo < hi; lo >>= 1, hi >>= 1) {
+			if ((lo & 1) == 1) {
+				best = better(best, tree[lo++], visibleOnly);
+			}
+			if ((hi & 1) == 1) {
+				best = better(best, tree[--hi], visibleOnly);
+			}
+		}
+		return best;
+	}
+
+	private int better(int a, int b, boolean visibleOnly) {
+		if (a < 0) {
+			return b;
+		}
+		return compareRank(a, b, visibleOnly) >= 0 ? a : b;
+	}
+
+	private int compareRank(int keyA, int keyB, boolean visibleOnly) {
+		Entry a = entries[keyEntry[keyA]];
+		Entry b = entries[keyEntry[keyB]];
+		if (visibleOnly && a.visible() != b.visible()) {
+			return a.visible() ? 1 : -1;
+		}
+		int byRank = Long.compare(a.rank(), b.rank());
+		return byRank != 0 ? byRank : Long.compare(a.id(), b.id());
+	}
+
+	/**
+	 * An indexed text; higher {@code rank} comes first.
+	 */
+	record Entry(long id, String text, long rank, boolean visible) {
+	}
+}
@@ -0,0 +1,153 @@
+package com.epam.edu.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.entity.News;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsPublishedEvent;
+import com.epam.edu.service.NewsSnapshot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Flips {@code News.visible} when an active item reaches its publishing time,
+ * so published-only reads filter on the flag instead of comparing dates. The
+ * delay queue is seeded from the database at startup, fed by saves and
+ * re-seeded periodically to pick up items scheduled on other nodes. Each flip
+ * announces a {@link NewsPublishedEvent}.
+ * <p>
+ * The queued entry of each news is also kept by id, so a re-seed skips news
+ * whose publishing time has not changed instead of scanning the queue.
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicationScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(PublicationScheduler.class);
+
+	private final NewsRepository newsRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final DelayQueue<ScheduledPublication> queue = new DelayQueue<>();
+	private final Map<Long, ScheduledPublication> scheduled = new ConcurrentHashMap<>();
+	private Thread worker;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		// rows written before the flag existed, or left behind while the app was down
+		int madeVisible = transactionTemplate.execute(status -> newsRepository.markDueNewsVisible(LocalDateTime.now()));
+		if (madeVisible > 0) {
+			log.info("Made {} overdue news visible", madeVisible);
+		}
+		resync();
+		worker = new Thread(this::run, "news-publication-scheduler");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (worker != null) {
+			worker.interrupt();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${news.publication.resync-interval-ms:600000}", initialDelayString = "${news.publication.resync-interval-ms:600000}")
+	public void resync() {
+		transactionTemplate.executeWithoutResult(status -> {
+			for (News news : newsRepository.findScheduledNews()) {
+				schedule(news.getId(), news.getPublishingDateTime());
+			}
+		});
+		log.debug("Publication queue holds {} items", queue.size());
+	}
+
+	@TransactionalEventListener
+	public void onNewsChanged(NewsChangedEvent event) {
+		NewsSnapshot current = event.current();
+		if (current != null && current.isScheduled()) {
+			schedule(current.id(), current.publishingDateTime());
+		} else if (event.previous() != null) {
+			ScheduledPublication previous = scheduled.remove(event.previous().id());
+			if (previous != null) {
+				queue.remove(previous);
+			}
+		}
+	}
+
+	private void schedule(Long newsId, LocalDateTime publishAt) {
+		ScheduledPublication item = new ScheduledPublication(newsId,
+				publishAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+		scheduled.compute(newsId, (id, previous) -> {
+			if (item.equals(previous)) {
+				return previous;
+			}
+			if (previous != null) {
+				queue.remove(previous);
+			}
+			queue.put(item);
+			return item;
+		});
+	}
+
+	private void run() {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				ScheduledPublication item = queue.take();
+				// keeps an entry that was rescheduled in the meantime
+				scheduled.remove(item.newsId(), item);
+				publish(item.newsId());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RuntimeException e) {
+				log.error("Failed to publish scheduled news", e);
+			}
+		}
+	}
+
+	private void publish(Long newsId) {
+		// the update re-checks the publishing time, so stale queue entries are no-ops
+		Integer groupId = transactionTemplate.execute(status -> {
+			if (!newsRepository.markVisibleIfDue(newsId, LocalDateTime.now())) {
+				return null;
+			}
+			return newsRepository.findById(newsId).map(news -> news.getNewsGroup().getId()).orElse(null);
+		});
+		if (groupId != null) {
+			log.info("News published on schedule: newsId={}", newsId);
+			eventPublisher.publishEvent(new NewsPublishedEvent(newsId, groupId));
+		}
+	}
+
+	private record ScheduledPublication(Long newsId, long publishAtMillis) implements Delayed {
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(publishAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(publishAtMillis, ((ScheduledPublication) other).publishAtMillis);
+		}
+	}
+}
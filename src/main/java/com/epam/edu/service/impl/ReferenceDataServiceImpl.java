@@ -0,0 +1,115 @@
+package com.epam.edu.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.UserRepository;
+import com.epam.edu.dao.UserSummary;
+import com.epam.edu.service.NewsGroupSnapshot;
+import com.epam.edu.service.ReferenceDataService;
+import com.epam.edu.service.UserChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps an immutable snapshot of news groups and authors and swaps it as a
+ * whole on refresh, so readers never lock. Any user change marks the authors
+ * stale and they are reloaded on the next read; groups, which have no editor,
+ * are reloaded on a timer.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReferenceDataServiceImpl.class);
+
+	private final NewsRepository newsRepository;
+	private final UserRepository userRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	private volatile Snapshot snapshot;
+	private final AtomicBoolean authorsStale = new AtomicBoolean();
+
+	@Override
+	public List<NewsGroupSnapshot> getNewsGroups() {
+		return current().newsGroups();
+	}
+
+	@Override
+	public Optional<NewsGroupSnapshot> findNewsGroup(Integer id) {
+		return id == null ? Optional.empty() : Optional.ofNullable(current().newsGroupsById().get(id));
+	}
+
+	@Override
+	public List<UserSummary> getAuthors() {
+		return current().authors();
+	}
+
+	@Override
+	public List<UserSummary> findAuthorsByIds(Collection<Long> ids) {
+		Map<Long, UserSummary> authors = current().authorsById();
+		return ids.stream().distinct().map(authors::get).filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${news.reference-data.refresh-interval-ms:600000}", initialDelayString = "${news.reference-data.refresh-interval-ms:600000}")
+	public synchronized void refresh() {
+		authorsStale.set(false);
+		snapshot = transactionTemplate.execute(status -> new Snapshot(
+				newsRepository.findAllNewsGroups().stream().map(NewsGroupSnapshot::of).toList(),
+				List.copyOf(userRepository.findAuthorSummaries())));
+		log.debug("Reference data loaded: newsGroups={}, authors={}", snapshot.newsGroups().size(),
+				snapshot.authors().size());
+	}
+
+	@TransactionalEventListener
+	public void onUserChanged(UserChangedEvent event) {
+		authorsStale.set(true);
+	}
+
+	private Snapshot current() {
+		if (snapshot == null) {
+			refresh();
+		} else if (authorsStale.get()) {
+			reloadAuthors();
+		}
+		return snapshot;
+	}
+
+	private synchronized void reloadAuthors() {
+		if (!authorsStale.getAndSet(false)) {
+			return;
+		}
+		List<UserSummary> authors = transactionTemplate
+				.execute(status -> List.copyOf(userRepository.findAuthorSummaries()));
+		snapshot = new Snapshot(snapshot.newsGroups(), authors);
+	}
+
+	private record Snapshot(List<NewsGroupSnapshot> newsGroups, Map<Integer, NewsGroupSnapshot> newsGroupsById,
+			List<UserSummary> authors, Map<Long, UserSummary> authorsById) {
+
+		Snapshot(List<NewsGroupSnapshot> newsGroups, List<UserSummary> authors) {
+			this(newsGroups,
+					newsGroups.stream()
+							.collect(Collectors.toUnmodifiableMap(NewsGroupSnapshot::id, Function.identity())),
+					authors, authors.stream().collect(Collectors.toUnmodifiableMap(UserSummary::getId, Function.identity())));
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.epam.edu.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into search terms: lower case, "ё" folded into "е", stop words
+ * dropped and common Russian or English endings stripped, so that
+ * "новостями" and "новости", "reports" and "reporting" meet in one term.
+ * The stemming is deliberately light; it never touches stems shorter than
+ * three letters.
+ */
+final class SearchTokenizer {
+
+	private static final int MIN_LENGTH = 2;
+	private static final int MAX_LENGTH = 40;
+	private static final int MIN_STEM = 3;
+
+	private static final Set<String> STOP_WORDS = Set.of(
+			"и", "в", "во", "не", "что", "он", "на", "я", "с", "со", "как", "а", "то", "все", "она", "так", "его",
+			"но", "да", "ты", "к", "у", "же", "вы", "за", "бы", "по", "только", "ее", "мне", "было", "вот", "от",
+			"меня", "еще", "нет", "о", "из", "ему", "для", "при", "это", "этот", "эта", "эти", "или", "ли", "до",
+			"the", "a", "an", "and", "or", "of", "to", "in", "on", "at", "for", "by", "with", "is", "are", "was",
+			"were", "be", "been", "it", "its", "as", "that", "this", "from", "but", "not", "no");
+
+	// noun and adjective endings only, longest first so "ями" is tried before "и";
+	// verb endings like "ть" would also cut nouns such as "новость"
+	private static final String[] RUSSIAN_ENDINGS = { "иями", "ями", "ами", "иях", "ией", "ием", "ого", "его",
+			"ому", "ему", "ыми", "ими", "ах", "ях", "ов", "ев", "ой", "ей", "ий", "ый", "ая", "яя", "ое", "ее",
+			"ые", "ие", "ом", "ем", "ам", "ям", "ую", "юю", "ию", "ия", "а", "я", "о", "е", "ы", "и", "у", "ю",
+			"ь", "й" };
+
+	private SearchTokenizer() {
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				char lower = Character.toLowerCase(c);
+				token.append(lower == 'ё' ? 'е' : lower);
+			} else if (!token.isEmpty()) {
+				String term = term(token.toString());
+				if (term != null) {
+					terms.add(term);
+				}
+				token.setLength(0);
+			}
+		}
+		return terms;
+	}
+
+	private static String term(String token) {
+		if (token.length() < MIN_LENGTH || token.length() > MAX_LENGTH || STOP_WORDS.contains(token)) {
+			return null;
+		}
+		return isCyrillic(token.charAt(0)) ? stemRussian(token) : stemEnglish(token);
+	}
+
+	private static String stemRussian(String token) {
+		for (String ending : RUSSIAN_ENDINGS) {
+			if (token.endsWith(ending) && token.length() - ending.length() >= MIN_STEM) {
+				return token.substring(0, token.length() - ending.length());
+			}
+		}
+		return token;
+	}
+
+	private static String stemEnglish(String token) {
+		if (token.endsWith("ies") && token.length() > 4) {
+			return token.substring(0, token.length() - 3) + "y";
+		}
+		if (token.endsWith("sses")) {
+			return token.substring(0, token.length() - 2);
+		}
+		if (token.endsWith("ing") && token.length() - 3 >= MIN_STEM) {
+			return undouble(token.substring(0, token.length() - 3));
+		}
+		if (token.endsWith("ed") && !token.endsWith("eed") && token.length() - 2 >= MIN_STEM) {
+			return undouble(token.substring(0, token.length() - 2));
+		}
+		if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")
+				&& token.length() > MIN_STEM + 1) {
+			return token.substring(0, token.length() - 1);
+		}
+		return token;
+	}
+
+	// "running" -> "runn" -> "run", but "falling" keeps "fall"
+	private static String undouble(String stem) {
+		int last = stem.length() - 1;
+		char c = stem.charAt(last);
+		if (stem.length() > MIN_STEM && c == stem.charAt(last - 1) && "aeiouylsz".indexOf(c) < 0) {
+			return stem.substring(0, last);
+		}
+		return stem;
+	}
+
+	private static boolean isCyrillic(char c) {
+		return Character.UnicodeBlock.of(c) == Character.UnicodeBlock.CYRILLIC;
+	}
+}
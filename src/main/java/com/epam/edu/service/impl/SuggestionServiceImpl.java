@@ -0,0 +1,258 @@
+package com.epam.edu.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.NewsTitle;
+import com.epam.edu.dao.UserSummary;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsPublishedEvent;
+import com.epam.edu.service.NewsTextChangedEvent;
+import com.epam.edu.service.ReferenceDataService;
+import com.epam.edu.service.Suggestion;
+import com.epam.edu.service.SuggestionService;
+
+/**
+ * Typeahead from two {@link PrefixIndex}es: news titles ranked by publishing
+ * time and authors in name order. The title index is rebuilt from the
+ * database in the background. Saves, deletes and publications made since go
+ * to a small overlay that shadows the index by news id and is scanned on
+ * every lookup. Once the overlay outgrows its limit, and periodically to pick
+ * up other nodes, the index is rebuilt and the overlay keeps only the
+ * changes made after the rebuild started.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+	private static final Logger log = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+
+	private static final int MAX_LIMIT = 20;
+	private static final Comparator<PrefixIndex.Entry> HIGHEST_RANK_FIRST = Comparator
+			.comparingLong(PrefixIndex.Entry::rank).thenComparingLong(PrefixIndex.Entry::id).reversed();
+
+	private final NewsRepository newsRepository;
+	private final ReferenceDataService referenceData;
+	private final TransactionTemplate transactionTemplate;
+	private final int rebuildBatchSize;
+	private final int overlayLimit;
+
+	private final AtomicReference<Titles> titles = new AtomicReference<>(new Titles(PrefixIndex.EMPTY, Map.of()));
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+	private volatile Authors authors = new Authors(List.of(), PrefixIndex.EMPTY);
+
+	public SuggestionServiceImpl(NewsRepository newsRepository, ReferenceDataService referenceData,
+			TransactionTemplate transactionTemplate,
+			@Value("${news.autocomplete.rebuild-batch-size:1000}") int rebuildBatchSize,
+			@Value("${news.autocomplete.overlay-limit:500}") int overlayLimit) {
+		this.newsRepository = newsRepository;
+		this.referenceData = referenceData;
+		this.transactionTemplate = transactionTemplate;
+		this.rebuildBatchSize = rebuildBatchSize;
+		this.overlayLimit = overlayLimit;
+	}
+
+	@Override
+	public List<Suggestion> suggest(String query, int limit, boolean publishedOnly) {
+		String normalized = PrefixIndex.normalize(query);
+		if (normalized.isEmpty()) {
+			return List.of();
+		}
+		String prefix = normalized.length() > PrefixIndex.MAX_PREFIX_LENGTH
+				? normalized.substring(0, PrefixIndex.MAX_PREFIX_LENGTH)
+				: normalized;
+		int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+		Titles current = titles.get();
+		List<PrefixIndex.Entry> news = new ArrayList<>();
+		current.index().collect(prefix, publishedOnly, size, id -> current.overlay().containsKey(id), news);
+		for (Change change : current.overlay().values()) {
+			PrefixIndex.Entry entry = change.entry();
+			if (entry != null && (!publishedOnly || entry.visible())
+					&& PrefixIndex.matches(change.normalized(), prefix)) {
+				news.add(entry);
+			}
+		}
+		news.sort(HIGHEST_RANK_FIRST);
+
+		List<Suggestion> suggestions = new ArrayList<>();
+		for (PrefixIndex.Entry entry : news.subList(0, Math.min(size, news.size()))) {
+			suggestions.add(new Suggestion(Suggestion.Type.NEWS, entry.id(), entry.text()));
+		}
+		List<PrefixIndex.Entry> matchingAuthors = new ArrayList<>();
+		currentAuthors().index().collect(prefix, false, size, id -> false, matchingAuthors);
+		for (PrefixIndex.Entry entry : matchingAuthors) {
+			suggestions.add(new Suggestion(Suggestion.Type.AUTHOR, entry.id(), entry.text()));
+		}
+		return suggestions;
+	}
+
+	@TransactionalEventListener
+	public void onNewsTextChanged(NewsTextChangedEvent event) {
+		record(event.newsId(),
+				new PrefixIndex.Entry(event.newsId(), event.title(), rank(event.publishedAt()), event.visible()));
+	}
+
+	@TransactionalEventListener
+	public void onNewsChanged(NewsChangedEvent event) {
+		if (event.current() == null && event.previous() != null) {
+			record(event.previous().id(), null);
+		}
+	}
+
+	@EventListener
+	public void onNewsPublished(NewsPublishedEvent event) {
+		Titles current = titles.get();
+		Change change = current.overlay().get(event.newsId());
+		PrefixIndex.Entry entry = change != null ? change.entry() : current.index().findById(event.newsId());
+		if (entry != null) {
+			record(event.newsId(), new PrefixIndex.Entry(entry.id(), entry.text(), entry.rank(), true));
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		rebuildInBackground();
+	}
+
+	@Scheduled(fixedDelayString = "${news.autocomplete.rebuild-interval-ms:600000}", initialDelayString = "${news.autocomplete.rebuild-interval-ms:600000}")
+	public void rebuild() {
+		if (!rebuilding.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			long startedAt = sequence.get();
+			PrefixIndex index = new PrefixIndex(loadTitles());
+			Titles rebuilt = titles.updateAndGet(current -> current.rebased(index, startedAt));
+			log.debug("Title index rebuilt: titles={}, keys={}, overlay={}", index.size(), index.keyCount(),
+					rebuilt.overlay().size());
+		} catch (RuntimeException e) {
+			log.error("Title index rebuild failed", e);
+		} finally {
+			rebuilding.set(false);
+		}
+	}
+
+	public Stats stats() {
+		Titles current = titles.get();
+		return new Stats(current.index().size(), current.index().keyCount(), current.overlay().size(),
+				authors.index().size());
+	}
+
+	private void record(Long newsId, PrefixIndex.Entry entry) {
+		Change change = new Change(entry, entry != null ? PrefixIndex.normalize(entry.text()) : null,
+				sequence.incrementAndGet());
+		Titles updated = titles.updateAndGet(current -> current.with(newsId, change));
+		if (updated.overlay().size() > overlayLimit) {
+			rebuildInBackground();
+		}
+	}
+
+	private void rebuildInBackground() {
+		if (rebuilding.get()) {
+			return;
+		}
+		Thread rebuilder = new Thread(this::rebuild, "news-autocomplete-rebuild");
+		rebuilder.setDaemon(true);
+		rebuilder.start();
+	}
+
+	private List<PrefixIndex.Entry> loadTitles() {
+		List<PrefixIndex.Entry> entries = new ArrayList<>();
+		long afterId = 0;
+		while (true) {
+			long from = afterId;
+			List<NewsTitle> batch = transactionTemplate
+					.execute(status -> newsRepository.findNewsTitlesAfter(from, rebuildBatchSize));
+			for (NewsTitle title : batch) {
+				entries.add(new PrefixIndex.Entry(title.id(), title.title(), rank(title.publishedAt()), title.visible()));
+			}
+			if (batch.size() < rebuildBatchSize) {
+				return entries;
+			}
+			afterId = batch.get(batch.size() - 1).id();
+		}
+	}
+
+	// the reference list is replaced, never modified, when authors change
+	private Authors currentAuthors() {
+		List<UserSummary> source = referenceData.getAuthors();
+		Authors cached = authors;
+		if (cached.source() != source) {
+			List<UserSummary> byName = new ArrayList<>(source);
+			byName.sort(Comparator.comparing(SuggestionServiceImpl::displayName, String.CASE_INSENSITIVE_ORDER));
+			List<PrefixIndex.Entry> entries = new ArrayList<>(byName.size());
+			for (int i = 0; i < byName.size(); i++) {
+				UserSummary author = byName.get(i);
+				// earlier in name order ranks higher
+				entries.add(new PrefixIndex.Entry(author.getId(), displayName(author), -i, true));
+			}
+			entries.sort(Comparator.comparingLong(PrefixIndex.Entry::id));
+			cached = new Authors(source, new PrefixIndex(entries));
+			authors = cached;
+		}
+		return cached;
+	}
+
+	private static String displayName(UserSummary author) {
+		return author.getSurname() != null && !author.getSurname().isBlank()
+				? author.getName() + " " + author.getSurname()
+				: String.valueOf(author.getName());
+	}
+
+	private static long rank(LocalDateTime publishedAt) {
+		return publishedAt != null ? publishedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+	}
+
+	public record Stats(int titles, int keys, int overlay, int authors) {
+	}
+
+	/**
+	 * A change since the index was built; {@code entry} is null for a deleted
+	 * news item.
+	 */
+	private record Change(PrefixIndex.Entry entry, String normalized, long sequence) {
+	}
+
+	private record Titles(PrefixIndex index, Map<Long, Change> overlay) {
+
+		Titles with(Long newsId, Change change) {
+			Map<Long, Change> changed = new HashMap<>(overlay);
+			changed.put(newsId, change);
+			return new Titles(index, Collections.unmodifiableMap(changed));
+		}
+
+		Titles rebased(PrefixIndex rebuilt, long startedAt) {
+			Map<Long, Change> newer = new HashMap<>();
+			overlay.forEach((newsId, change) -> {
+				if (change.sequence() > startedAt) {
+					newer.put(newsId, change);
+				}
+			});
+			return new Titles(rebuilt, Collections.unmodifiableMap(newer));
+		}
+	}
+
+	private record Authors(List<UserSummary> source, PrefixIndex index) {
+	}
+}
@@ -0,0 +1,85 @@
+package com.epam.edu.service.impl;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.epam.edu.cache.BoundedCache;
+import com.epam.edu.cache.CacheStats;
+import com.epam.edu.service.UserChangedEvent;
+
+/**
+ * Login data by email for {@code loadUserByUsername}. Holds immutable
+ * snapshots and builds a fresh {@link UserDetails} per call, because Spring
+ * Security erases the password of the instance it authenticated. Entries
+ * expire after the configured TTL and are evicted as soon as the user is
+ * changed.
+ * <p>
+ * A load may read a user just before a change commits and finish after its
+ * eviction. Every eviction bumps a generation, and a loaded entry that saw
+ * the generation move while loading is dropped again, so it can't outlive
+ * the change.
+ * <p>
+ * Entries are keyed by the trimmed, lower-cased email, matching the
+ * database's case-insensitive comparison, so every spelling a user logs in
+ * with is evicted together. Changes are evicted only on the node that made
+ * them; other nodes keep an entry until its TTL runs out, which is the real
+ * bound on how long an old password or a deactivated account still works.
+ */
+@Component
+public class UserDetailsCache {
+
+	private final BoundedCache<String, Credentials> cache;
+	private final AtomicLong generation = new AtomicLong();
+
+	public UserDetailsCache(@Value("${security.user-cache.max-entries:10000}") int maxEntries,
+			@Value("${security.user-cache.ttl-ms:300000}") long ttlMillis) {
+		this.cache = new BoundedCache<>("userDetails", maxEntries, Duration.ofMillis(ttlMillis));
+	}
+
+	public UserDetails get(String email, Function<String, Credentials> loader) {
+		String key = key(email);
+		Credentials credentials = cache.get(key);
+		if (credentials == null) {
+			long loadedAt = generation.get();
+			credentials = loader.apply(email);
+			cache.put(key, credentials);
+			// checked after the put: an eviction racing with it either sees the entry or moves the generation
+			if (generation.get() != loadedAt) {
+				cache.invalidate(key);
+			}
+		}
+		return User.builder().username(credentials.email()).password(credentials.passwordHash())
+				.roles(credentials.role()).disabled(credentials.disabled()).build();
+	}
+
+	public void evict(String email) {
+		generation.incrementAndGet();
+		cache.invalidate(key(email));
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	@TransactionalEventListener
+	public void onUserChanged(UserChangedEvent event) {
+		if (event.email() != null) {
+			evict(event.email());
+		}
+	}
+
+	private static String key(String email) {
+		return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	public record Credentials(String email, String passwordHash, String role, boolean disabled) {
+	}
+}
@@ -7,30 +7,44 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.epam.edu.dao.UserRepository;
+import com.epam.edu.dao.UserSort;
+import com.epam.edu.dao.UserSummary;
 import com.epam.edu.entity.RegistrationInfo;
 import com.epam.edu.entity.User;
 import com.epam.edu.entity.UserRole;
+import com.epam.edu.service.CursorPage;
 import com.epam.edu.service.ServiceException;
+import com.epam.edu.service.UserChangedEvent;
+import com.epam.edu.service.UserListCursor;
 import com.epam.edu.service.UserService;
+import com.epam.edu.service.impl.UserDetailsCache.Credentials;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class UserServiceImpl implements UserService, UserDetailsService {
+public class UserServiceImpl implements UserService, UserDetailsService, UserDetailsPasswordService {
 
 	private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
+	private static final int MAX_ADMIN_PAGE_SIZE = 200;
 
 	private final UserRepository repository;
 	private final PasswordEncoder passwordEncoder;
+	private final ApplicationEventPublisher eventPublisher;
+	private final UserDetailsCache userDetailsCache;
+	private final EmailFilter emailFilter;
+	private final TransactionTemplate transactionTemplate;
 
 	@Override
 	@Transactional(readOnly = true)
@@ -40,25 +54,44 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 	}
 
 	@Override
-	@Transactional(readOnly = true)
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		log.info("Attempting to load user by email: {}", username);
+		return userDetailsCache.get(username, this::loadCredentials);
+	}
 
-		User user = repository.findByEmail(username).orElseThrow(() -> {
-			log.warn("User not found with email: {}", username);
-			return new UsernameNotFoundException("User not found with email: " + username);
-		});
+	/**
+	 * Called by Spring Security after a successful login when the stored hash
+	 * was made with a lower cost factor than the configured one.
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails details, String newPassword) {
+		User user = repository.findByEmail(details.getUsername())
+				.orElseThrow(() -> new UsernameNotFoundException("User not found: " + details.getUsername()));
+		user.setPassword(newPassword);
+		repository.save(user);
+		eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+		log.info("Password hash upgraded: email={}", user.getEmail());
+		return org.springframework.security.core.userdetails.User.withUserDetails(details).password(newPassword)
+				.build();
+	}
 
-		log.info("Found user: id={}, email={}, roleId={}, activ={}", user.getId(), user.getEmail(), user.getRoleId(),
-				user.isActiv());
+	/**
+	 * Runs only on a cache miss, so only misses take a connection.
+	 */
+	private Credentials loadCredentials(String email) {
+		log.debug("Attempting to load user by email: {}", email);
+
+		User user = transactionTemplate.execute(status -> repository.findByEmail(email)).orElseThrow(() -> {
+			log.warn("User not found with email: {}", email);
+			return new UsernameNotFoundException("User not found with email: " + email);
+		});
 
 		UserRole role = UserRole.fromId(user.getRoleId());
 
-		log.info("Creating UserDetails: username={}, role={}, disabled={}", user.getEmail(), role.name(),
-				!user.isActiv());
+		log.debug("Found user: id={}, email={}, role={}, activ={}", user.getId(), user.getEmail(), role.name(),
+				user.isActiv());
 
-		return org.springframework.security.core.userdetails.User.builder().username(user.getEmail())
-				.password(user.getPassword()).roles(role.name()).disabled(!user.isActiv()).build();
+		return new Credentials(user.getEmail(), user.getPassword(), role.name(), !user.isActiv());
 	}
 
 	@Override
@@ -89,6 +122,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 	public boolean addNew(RegistrationInfo info) {
 		log.info("Registering new user: email={}", info.getEmail());
 
+		// the filter only knows this node's registrations, so the insert itself is guarded by the database
 		if (repository.existsByEmail(info.getEmail())) {
 			log.warn("Email {} is already in use", info.getEmail());
 			throw new ServiceException("Email is already in use");
@@ -103,7 +137,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 		user.setActiv(true);
 		user.setAuthor(false);
 
-		repository.save(user);
+		emailFilter.add(info.getEmail());
+		User saved = repository.save(user);
+		eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getEmail()));
 		log.info("User successfully registered: email={}", info.getEmail());
 
 		return true;
@@ -119,19 +155,36 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 	@Override
 	@Transactional(readOnly = true)
 	public boolean existsByEmail(String email) {
+		if (!emailFilter.mightContain(email)) {
+			return false;
+		}
 		return repository.existsByEmail(email);
 	}
 
 	@Override
 	@Transactional
 	public User save(User user) {
-		return repository.save(user);
+		User saved = repository.save(user);
+		eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getEmail()));
+		return saved;
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<User> findAll() {
-		return repository.findAll();
+	public CursorPage<UserSummary> findUsersForAdmin(String search, UserSort sort, String after, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_ADMIN_PAGE_SIZE));
+		Optional<UserListCursor> cursor = UserListCursor.decode(after);
+		List<UserSummary> rows = repository.findUserSummaries(search, sort,
+				cursor.map(UserListCursor::email).orElse(null), cursor.map(UserListCursor::id).orElse(null),
+				pageSize + 1);
+
+		if (rows.size() <= pageSize) {
+			return new CursorPage<>(rows, null);
+		}
+		List<UserSummary> content = rows.subList(0, pageSize);
+		UserSummary last = content.get(pageSize - 1);
+		String email = sort == UserSort.EMAIL ? last.getEmail() : null;
+		return new CursorPage<>(List.copyOf(content), new UserListCursor(email, last.getId()).encode());
 	}
 
 	@Override
@@ -158,7 +211,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
 		log.info("Удаление пользователя: adminId={}, userId={}", admin.getId(), userId);
 
-		repository.delete(user); 
+		repository.delete(user);
+		emailFilter.userDeleted();
+		eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
 	}
 
 }
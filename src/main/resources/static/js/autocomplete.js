@@ -0,0 +1,34 @@
+// Typeahead for inputs marked with data-autocomplete: fills the input's datalist from /autocomplete.
+document.addEventListener('DOMContentLoaded', function() {
+	document.querySelectorAll('input[data-autocomplete]').forEach(function(input) {
+		const list = document.getElementById(input.getAttribute('list'));
+		let timer = null;
+		let controller = null;
+
+		input.addEventListener('input', function() {
+			clearTimeout(timer);
+			const q = input.value.trim();
+			if (q.length === 0) {
+				list.replaceChildren();
+				return;
+			}
+			timer = setTimeout(function() {
+				if (controller) {
+					controller.abort();
+				}
+				controller = new AbortController();
+				fetch('/autocomplete?q=' + encodeURIComponent(q), { signal: controller.signal })
+					.then(response => response.ok ? response.json() : [])
+					.then(function(suggestions) {
+						list.replaceChildren(...suggestions.map(function(s) {
+							const option = document.createElement('option');
+							option.value = s.text;
+							option.label = s.type === 'AUTHOR' ? 'Автор' : 'Новость';
+							return option;
+						}));
+					})
+					.catch(() => {});
+			}, 150);
+		});
+	});
+});
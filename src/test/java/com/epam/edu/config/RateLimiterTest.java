@@ -0,0 +1,65 @@
+package com.epam.edu.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+	@Test
+	void allowsBurstThenAsksToWaitOneInterval() {
+		RateLimiter limiter = new RateLimiter(1, 1, TimeUnit.MINUTES, 3, 10);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		long wait = limiter.tryAcquire("a");
+		assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MINUTES.toNanos(1));
+		assertThat(wait).isGreaterThan(TimeUnit.SECONDS.toNanos(50));
+		// buckets are per key
+		assertThat(limiter.tryAcquire("b")).isZero();
+	}
+
+	@Test
+	void refillsAtTheSustainedRate() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(1, 100, TimeUnit.MILLISECONDS, 2, 10);
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		long wait = limiter.tryAcquire("a");
+		assertThat(wait).isPositive();
+
+		Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 20);
+		assertThat(limiter.tryAcquire("a")).isZero();
+		// one token came back, not the whole burst
+		assertThat(limiter.tryAcquire("a")).isPositive();
+	}
+
+	@Test
+	void evictsOnlyRefilledKeys() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(1, 50, TimeUnit.MILLISECONDS, 1, 10);
+		limiter.tryAcquire("idle");
+		Thread.sleep(80);
+		RateLimiter slow = new RateLimiter(1, 1, TimeUnit.MINUTES, 1, 10);
+		slow.tryAcquire("busy");
+
+		assertThat(limiter.evictIdle()).isEqualTo(1);
+		assertThat(limiter.size()).isZero();
+		assertThat(slow.evictIdle()).isZero();
+		assertThat(slow.tryAcquire("busy")).isPositive();
+	}
+
+	@Test
+	void letsNewKeysThroughUntrackedWhenFull() {
+		RateLimiter limiter = new RateLimiter(1, 1, TimeUnit.MINUTES, 1, 2);
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+
+		assertThat(limiter.tryAcquire("c")).isZero();
+		assertThat(limiter.tryAcquire("c")).isZero();
+		assertThat(limiter.untracked()).isEqualTo(2);
+		assertThat(limiter.size()).isEqualTo(2);
+		assertThat(limiter.tryAcquire("a")).isPositive();
+	}
+}
@@ -0,0 +1,71 @@
+package com.epam.edu.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class SignedTokenCodecTest {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final SignedTokenCodec codec = new SignedTokenCodec(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+	@Test
+	void roundTripsTheClaims() {
+		SignedToken token = new SignedToken(42, "a|b@example.com", "ADMIN", NOW.plusSeconds(3600));
+
+		assertThat(codec.decode(codec.encode(token))).contains(token);
+	}
+
+	@Test
+	void rejectsTamperedPayloadOrSignature() {
+		String encoded = codec.encode(new SignedToken(42, "user@example.com", "USER", NOW.plusSeconds(3600)));
+		int dot = encoded.indexOf('.');
+		String payload = new String(Base64.getUrlDecoder().decode(encoded.substring(0, dot)), StandardCharsets.UTF_8);
+		String forged = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(payload.replace("USER", "ADMIN").getBytes(StandardCharsets.UTF_8));
+		char first = encoded.charAt(dot + 1);
+
+		assertThat(codec.decode(forged + encoded.substring(dot))).isEmpty();
+		assertThat(codec.decode(encoded.substring(0, dot + 1) + (first == 'A' ? 'B' : 'A') + encoded.substring(dot + 2)))
+				.isEmpty();
+		assertThat(new SignedTokenCodec(SECRET.replace('0', '1'), Clock.fixed(NOW, ZoneOffset.UTC)).decode(encoded))
+				.isEmpty();
+	}
+
+	@Test
+	void rejectsExpiredTokens() {
+		String expiresNow = codec.encode(new SignedToken(42, "user@example.com", "USER", NOW));
+		String expiresLater = codec.encode(new SignedToken(42, "user@example.com", "USER", NOW.plusSeconds(1)));
+
+		assertThat(codec.decode(expiresNow)).isEmpty();
+		assertThat(codec.decode(expiresLater)).isPresent();
+		assertThat(new SignedTokenCodec(SECRET, Clock.fixed(NOW.plusSeconds(1), ZoneOffset.UTC)).decode(expiresLater))
+				.isEmpty();
+	}
+
+	@Test
+	void rejectsMalformedValues() {
+		assertThat(codec.decode(null)).isEmpty();
+		assertThat(codec.decode("")).isEmpty();
+		assertThat(codec.decode(".abc")).isEmpty();
+		assertThat(codec.decode("no-dot")).isEmpty();
+		assertThat(codec.decode("%%%.%%%")).isEmpty();
+	}
+
+	@Test
+	void refusesShortSecrets() {
+		assertThatThrownBy(() -> new SignedTokenCodec("short", Clock.systemUTC()))
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> new SignedTokenCodec(null, Clock.systemUTC()))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
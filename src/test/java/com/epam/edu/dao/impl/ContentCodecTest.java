@@ -0,0 +1,66 @@
+package com.epam.edu.dao.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class ContentCodecTest {
+
+	private static final String LONG_TEXT = "Новость дня. ".repeat(200);
+
+	@Test
+	void roundTripsRawAndDeflated() {
+		byte[] shortText = "Короткая новость".getBytes(StandardCharsets.UTF_8);
+		byte[] longText = LONG_TEXT.getBytes(StandardCharsets.UTF_8);
+
+		byte[] raw = ContentCodec.encode(shortText, 512);
+		byte[] deflated = ContentCodec.encode(longText, 512);
+
+		assertThat(ContentCodec.readHeader(raw)).isEqualTo(new ContentCodec.Header(ContentCodec.RAW, shortText.length));
+		assertThat(ContentCodec.readHeader(deflated))
+				.isEqualTo(new ContentCodec.Header(ContentCodec.DEFLATE, longText.length));
+		assertThat(deflated.length).isLessThan(longText.length);
+		assertThat(ContentCodec.decode(raw)).isEqualTo("Короткая новость");
+		assertThat(ContentCodec.decode(deflated)).isEqualTo(LONG_TEXT);
+		assertThat(ContentCodec.decode(ContentCodec.encode(new byte[0], 0))).isEmpty();
+	}
+
+	@Test
+	void readsLegacyPlainText() {
+		byte[] legacy = "Старая новость без заголовка".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(ContentCodec.hasHeader(legacy)).isFalse();
+		assertThat(ContentCodec.readHeader(legacy)).isNull();
+		assertThat(ContentCodec.decode(legacy)).isEqualTo("Старая новость без заголовка");
+	}
+
+	@Test
+	void rejectsCorruptHeaders() {
+		byte[] unknownCodec = ContentCodec.encode("text".getBytes(StandardCharsets.UTF_8), 512);
+		unknownCodec[4] = 7;
+		byte[] negativeLength = ContentCodec.encode("text".getBytes(StandardCharsets.UTF_8), 512);
+		ByteBuffer.wrap(negativeLength).putInt(5, -1);
+
+		assertThatThrownBy(() -> ContentCodec.decode(unknownCodec)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> ContentCodec.decode(negativeLength)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void rejectsCorruptOrTruncatedPayloads() {
+		byte[] deflated = ContentCodec.encode(LONG_TEXT.getBytes(StandardCharsets.UTF_8), 512);
+		byte[] truncated = Arrays.copyOf(deflated, deflated.length / 2);
+		byte[] garbled = deflated.clone();
+		Arrays.fill(garbled, ContentCodec.HEADER_LENGTH, garbled.length, (byte) 0xFF);
+		byte[] overstated = deflated.clone();
+		ByteBuffer.wrap(overstated).putInt(5, LONG_TEXT.length() * 4);
+
+		assertThatThrownBy(() -> ContentCodec.decode(truncated)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> ContentCodec.decode(garbled)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> ContentCodec.decode(overstated)).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,55 @@
+package com.epam.edu.dao.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.epam.edu.dao.StoredContent;
+
+class FileContentStoreTest {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void keyIgnoresHowTheRootAndSeparatorsWereSpelled() {
+		FileContentStore store = new FileContentStore(root.toString(), 512);
+		String location = store.save("body");
+		String key = store.keyOf(location);
+
+		assertThat(store.keyOf(Path.of(location).toAbsolutePath().toString())).isEqualTo(key);
+		assertThat(store.keyOf(root.resolve(".").resolve(root.relativize(Path.of(location))).toString()))
+				.isEqualTo(key);
+		assertThat(store.keyOf(location.replace('/', '\\'))).isEqualTo(key);
+		assertThat(store.keyOf("D:\\old\\resources\\news\\content\\" + key.replace('/', '\\'))).isEqualTo(key);
+	}
+
+	@Test
+	void listedItemsCarryTheSameKeyAsTheSavedLocation() {
+		FileContentStore store = new FileContentStore(root.toString(), 512);
+		String first = store.save("first body");
+		String second = store.save("second body");
+
+		try (Stream<StoredContent> stored = store.list()) {
+			List<String> keys = stored.map(StoredContent::key).toList();
+			assertThat(keys).containsExactlyInAnyOrder(store.keyOf(first), store.keyOf(second));
+		}
+	}
+
+	@Test
+	void legacyFlatFilesAreKeyedByName() throws Exception {
+		Files.writeString(root.resolve("news_1700000000000.txt"), "legacy");
+		FileContentStore store = new FileContentStore(root.toString(), 512);
+
+		assertThat(store.keyOf("resources\\news\\content\\news_1700000000000.txt")).isEqualTo("news_1700000000000.txt");
+		try (Stream<StoredContent> stored = store.list()) {
+			assertThat(stored.map(StoredContent::key)).containsExactly("news_1700000000000.txt");
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.epam.edu.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BannedWordMatcherTest {
+
+	@Test
+	void matchesWholeWordsOnly() {
+		BannedWordMatcher matcher = new BannedWordMatcher(List.of("спам"));
+
+		assertThat(matcher.matches("Это спам!")).isTrue();
+		assertThat(matcher.matches("СПАМ")).isTrue();
+		assertThat(matcher.matches("спамер")).isFalse();
+		assertThat(matcher.matches("антиспам")).isFalse();
+		assertThat(matcher.matches("спам2")).isFalse();
+	}
+
+	@Test
+	void starMatchesAsPrefix() {
+		BannedWordMatcher matcher = new BannedWordMatcher(List.of("спам*"));
+
+		assertThat(matcher.matches("настоящий спамер")).isTrue();
+		assertThat(matcher.matches("спам")).isTrue();
+		assertThat(matcher.matches("антиспамер")).isFalse();
+	}
+
+	@Test
+	void foldsYoBothWays() {
+		BannedWordMatcher matcher = new BannedWordMatcher(List.of("ёж", "елка"));
+
+		assertThat(matcher.matches("Еж в лесу")).isTrue();
+		assertThat(matcher.matches("ЁЖ")).isTrue();
+		assertThat(matcher.matches("наряжаем Ёлку")).isFalse();
+		assertThat(matcher.matches("наряжаем Ёлка")).isTrue();
+	}
+
+	@Test
+	void findsWordsReachedThroughFailLinks() {
+		BannedWordMatcher matcher = new BannedWordMatcher(List.of("кот", "от"));
+
+		assertThat(matcher.matches("вот")).isFalse();
+		assertThat(matcher.matches("вот от")).isTrue();
+		assertThat(matcher.matches("скот и кот")).isTrue();
+	}
+
+	@Test
+	void prefixFormWinsAndBlankEntriesAreSkipped() {
+		BannedWordMatcher matcher = new BannedWordMatcher(List.of("спам", "спам*", " * ", ""));
+
+		assertThat(matcher.size()).isEqualTo(2);
+		assertThat(matcher.matches("спамеры")).isTrue();
+		assertThat(BannedWordMatcher.EMPTY.matches("спам")).isFalse();
+		assertThat(matcher.matches(null)).isFalse();
+	}
+}
@@ -0,0 +1,90 @@
+package com.epam.edu.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.ContentRef;
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.impl.FileContentStore;
+
+class ContentGarbageCollectorTest {
+
+	@TempDir
+	Path root;
+
+	private FileContentStore store;
+	private NewsRepository newsRepository;
+	private final List<ContentRef> refs = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		store = new FileContentStore(root.toString(), 512);
+		newsRepository = mock(NewsRepository.class);
+		when(newsRepository.findContentRefsAfter(anyLong(), anyInt())).thenAnswer(call -> {
+			long afterId = call.getArgument(0);
+			int limit = call.getArgument(1);
+			return refs.stream().filter(ref -> ref.newsId() > afterId).limit(limit).toList();
+		});
+	}
+
+	@Test
+	void deletesOnlyUnreferencedFilesWhateverTheStoredSpelling() throws Exception {
+		String kept = old(store.save("kept"));
+		String alsoKept = old(store.save("also kept"));
+		String orphan = old(store.save("orphan"));
+		refs.add(new ContentRef(1L, Path.of(kept).toAbsolutePath().toString()));
+		refs.add(new ContentRef(2L, "C:\\portal\\content\\" + store.keyOf(alsoKept).replace('/', '\\')));
+
+		ContentGarbageCollector.Report report = sweep(1.0);
+
+		assertThat(report.deleted()).isEqualTo(1);
+		assertThat(Files.exists(Path.of(kept))).isTrue();
+		assertThat(Files.exists(Path.of(alsoKept))).isTrue();
+		assertThat(Files.exists(Path.of(orphan))).isFalse();
+	}
+
+	@Test
+	void abortsWhenMostFilesLookUnreferenced() throws Exception {
+		String first = old(store.save("first"));
+		String second = old(store.save("second"));
+		String third = old(store.save("third"));
+		refs.add(new ContentRef(1L, first));
+
+		ContentGarbageCollector.Report report = sweep(0.5);
+
+		assertThat(report.aborted()).isTrue();
+		assertThat(report.deleted()).isZero();
+		assertThat(Files.exists(Path.of(second))).isTrue();
+		assertThat(Files.exists(Path.of(third))).isTrue();
+	}
+
+	private ContentGarbageCollector.Report sweep(double maxOrphanShare) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+		ContentGarbageCollector collector = new ContentGarbageCollector(store, newsRepository, transactionTemplate,
+				60_000, 2, 0, maxOrphanShare);
+		collector.sweep();
+		return collector.getLastReport();
+	}
+
+	private static String old(String location) throws Exception {
+		Files.setLastModifiedTime(Path.of(location), FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+		return location;
+	}
+}
@@ -0,0 +1,144 @@
+package com.epam.edu.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.edu.dao.ContentStore;
+import com.epam.edu.dao.NewsRepository;
+import com.epam.edu.dao.NewsText;
+import com.epam.edu.service.NewsChangedEvent;
+import com.epam.edu.service.NewsSnapshot;
+import com.epam.edu.service.NewsTextChangedEvent;
+
+class NewsSearchIndexTest {
+
+	@TempDir
+	Path dir;
+
+	private NewsRepository newsRepository;
+	private NewsSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		newsRepository = mock(NewsRepository.class);
+		when(newsRepository.findNewsTextsAfter(anyLong(), anyInt())).thenReturn(List.of());
+		index = new NewsSearchIndex(newsRepository, mock(ContentStore.class),
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), dir.toString(), 100, 60000);
+	}
+
+	@Test
+	void postingsStaySortedThroughInsertAndDelete() {
+		byte[] list = NewsSearchIndex.Postings.insert(null, 300, 2);
+		list = NewsSearchIndex.Postings.insert(list, 5, 1);
+		list = NewsSearchIndex.Postings.insert(list, 100_000, 4);
+		list = NewsSearchIndex.Postings.insert(list, 5, 7);
+
+		assertThat(read(list)).containsExactly(5L, 7L, 300L, 2L, 100_000L, 4L);
+
+		list = NewsSearchIndex.Postings.delete(list, 300);
+		assertThat(read(list)).containsExactly(5L, 7L, 100_000L, 4L);
+		list = NewsSearchIndex.Postings.delete(list, 42);
+		assertThat(read(list)).containsExactly(5L, 7L, 100_000L, 4L);
+		list = NewsSearchIndex.Postings.delete(list, 5);
+		assertThat(NewsSearchIndex.Postings.delete(list, 100_000)).isNull();
+	}
+
+	@Test
+	void ranksTitleMatchesFirstThenShorterDocuments() {
+		put(1L, "Погода", "Кратко", "Выборы прошли спокойно, но длинный текст о погоде и о многом другом", true);
+		put(2L, "Выборы в городе", "Итоги", "Подробности", true);
+		put(3L, "Спорт", "Матч", "Выборы", true);
+		put(4L, "Курс валют", "Рынок", "Без упоминаний", true);
+
+		NewsSearchIndex.SearchHits hits = index.search("выборов", false, 0, 10);
+
+		assertThat(hits.ids()).containsExactly(2L, 3L, 1L);
+		assertThat(hits.total()).isEqualTo(3);
+		assertThat(index.search("выборов", false, 1, 1).ids()).containsExactly(3L);
+	}
+
+	@Test
+	void followsUpdatesDeletesAndVisibility() {
+		put(1L, "Выборы", "", "", true);
+		put(2L, "Выборы", "", "", false);
+		assertThat(index.search("выборы", true, 0, 10).ids()).containsExactly(1L);
+
+		put(1L, "Погода", "", "", true);
+		assertThat(index.search("выборы", false, 0, 10).ids()).containsExactly(2L);
+		assertThat(index.search("погода", false, 0, 10).ids()).containsExactly(1L);
+
+		index.onNewsChanged(new NewsChangedEvent(snapshot(2L), null));
+		assertThat(index.search("выборы", false, 0, 10).total()).isZero();
+		assertThat(index.stats().terms()).isEqualTo(1);
+	}
+
+	@Test
+	void savesOnlyOnceBuiltAndKeepsServingWhileSaving() throws Exception {
+		Path file = dir.resolve("news-index.bin");
+		put(1L, "Выборы", "", "", true);
+		index.persist();
+		assertThat(Files.exists(file)).isFalse();
+
+		List<NewsText> texts = new ArrayList<>();
+		texts.add(new NewsText(1L, "Выборы", "", null, true));
+		texts.add(new NewsText(2L, "Погода", "", null, true));
+		when(newsRepository.findNewsTextsAfter(anyLong(), anyInt())).thenReturn(texts);
+		index.rebuild();
+
+		assertThat(Files.size(file)).isPositive();
+		assertThat(index.search("погода", true, 0, 10).ids()).containsExactly(2L);
+	}
+
+	@Test
+	void syncPicksUpNewsChangedElsewhereAndSearchDropsDeleted() {
+		when(newsRepository.findNewsTextsAfter(anyLong(), anyInt()))
+				.thenReturn(List.of(new NewsText(1L, "Выборы", "", null, true)));
+		index.rebuild();
+		when(newsRepository.findNewsTextsUpdatedSince(any(), anyLong(), anyInt()))
+				.thenReturn(List.of(new NewsText(1L, "Погода", "", null, true), new NewsText(2L, "Выборы", "", null, false)));
+
+		index.sync();
+
+		assertThat(index.search("погода", true, 0, 10).ids()).containsExactly(1L);
+		assertThat(index.search("выборы", false, 0, 10).ids()).containsExactly(2L);
+		assertThat(index.stats().lastSyncAt()).isNotNull();
+
+		index.remove(List.of(2L));
+		assertThat(index.search("выборы", false, 0, 10).total()).isZero();
+	}
+
+	private void put(Long id, String title, String brief, String content, boolean visible) {
+		index.onNewsTextChanged(new NewsTextChangedEvent(id, title, brief, content, visible, LocalDateTime.now()));
+	}
+
+	private static NewsSnapshot snapshot(Long id) {
+		return new NewsSnapshot(id, 1, true, true, null, null, List.of());
+	}
+
+	private static List<Long> read(byte[] list) {
+		List<Long> entries = new ArrayList<>();
+		NewsSearchIndex.PostingReader reader = new NewsSearchIndex.PostingReader(list);
+		while (reader.next()) {
+			entries.add(reader.id());
+			entries.add((long) reader.frequency());
+		}
+		assertThat(reader.count()).isEqualTo(entries.size() / 2);
+		return entries;
+	}
+}
@@ -0,0 +1,88 @@
+package com.epam.edu.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class OrdinalBitmapTest {
+
+	@Test
+	void sparseSetStaysSortedArray() {
+		OrdinalBitmap bitmap = new OrdinalBitmap();
+		bitmap.add(10_000);
+		bitmap.add(3);
+		bitmap.add(3);
+		bitmap.add(700);
+
+		assertThat(bitmap.cardinality()).isEqualTo(3);
+		assertThat(bitmap.contains(3)).isTrue();
+		assertThat(bitmap.contains(4)).isFalse();
+		// three ints in the initial array rather than 157 words up to ordinal 10 000
+		assertThat(bitmap.sizeInBytes()).isEqualTo(16);
+
+		bitmap.remove(700);
+		bitmap.remove(701);
+		assertThat(bitmap.cardinality()).isEqualTo(2);
+		assertThat(bitmap.contains(700)).isFalse();
+	}
+
+	@Test
+	void denseSetSwitchesToWordsAndKeepsMembers() {
+		OrdinalBitmap bitmap = new OrdinalBitmap();
+		for (int ordinal = 0; ordinal < 200; ordinal += 2) {
+			bitmap.add(ordinal);
+		}
+
+		assertThat(bitmap.cardinality()).isEqualTo(100);
+		assertThat(bitmap.sizeInBytes()).isLessThan(100 * 4);
+		for (int ordinal = 0; ordinal < 200; ordinal++) {
+			assertThat(bitmap.contains(ordinal)).isEqualTo(ordinal % 2 == 0);
+		}
+
+		bitmap.add(5_000);
+		bitmap.remove(0);
+		bitmap.remove(0);
+		assertThat(bitmap.cardinality()).isEqualTo(100);
+		assertThat(bitmap.contains(5_000)).isTrue();
+		assertThat(bitmap.contains(0)).isFalse();
+	}
+
+	@Test
+	void combinesWithWordArrays() {
+		OrdinalBitmap sparse = new OrdinalBitmap();
+		sparse.add(1);
+		sparse.add(64);
+		sparse.add(130);
+		OrdinalBitmap dense = new OrdinalBitmap();
+		for (int ordinal = 0; ordinal < 128; ordinal++) {
+			dense.add(ordinal);
+		}
+
+		long[] union = new long[3];
+		sparse.orInto(union);
+		dense.orInto(union);
+		assertThat(Long.bitCount(union[0]) + Long.bitCount(union[1]) + Long.bitCount(union[2])).isEqualTo(129);
+
+		long[] denseWords = new long[3];
+		dense.orInto(denseWords);
+		assertThat(sparse.andCardinality(denseWords)).isEqualTo(2);
+		long[] sparseWords = new long[3];
+		sparse.orInto(sparseWords);
+		assertThat(dense.andCardinality(sparseWords)).isEqualTo(2);
+
+		dense.andNotInto(sparseWords);
+		assertThat(sparseWords).containsExactly(0L, 0L, 1L << 2);
+	}
+
+	@Test
+	void ignoresOrdinalsBeyondTarget() {
+		OrdinalBitmap bitmap = new OrdinalBitmap();
+		bitmap.add(1);
+		bitmap.add(200);
+
+		long[] target = new long[1];
+		bitmap.orInto(target);
+		assertThat(target[0]).isEqualTo(1L << 1);
+		assertThat(bitmap.andCardinality(new long[] { -1L })).isEqualTo(1);
+	}
+}
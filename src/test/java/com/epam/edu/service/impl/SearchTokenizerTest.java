@@ -0,0 +1,28 @@
+package com.epam.edu.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchTokenizerTest {
+
+	@Test
+	void lowerCasesFoldsYoAndDropsStopWords() {
+		assertThat(SearchTokenizer.tokenize("Ёлка и ЕЛКА в парке")).containsExactly("елк", "елк", "парк");
+	}
+
+	@Test
+	void bringsWordFormsToOneTerm() {
+		assertThat(SearchTokenizer.tokenize("новостями")).isEqualTo(SearchTokenizer.tokenize("новости"));
+		assertThat(SearchTokenizer.tokenize("reports")).isEqualTo(SearchTokenizer.tokenize("reporting"));
+		assertThat(SearchTokenizer.tokenize("running")).containsExactly("run");
+		// short stems are left alone
+		assertThat(SearchTokenizer.tokenize("мир")).containsExactly("мир");
+	}
+
+	@Test
+	void splitsOnPunctuationAndSkipsSingleLetters() {
+		assertThat(SearchTokenizer.tokenize("covid-19, x; 2024!")).containsExactly("covid", "19", "2024");
+		assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+	}
+}